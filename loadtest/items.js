@@ -0,0 +1,43 @@
+// k6 load test of the /api/items contract, run it unchanged against both stacks:
+//   k6 run -e BASE_URL=http://localhost:8080 loadtest/items.js   (Spring MVC + JPA)
+//   k6 run -e BASE_URL=http://localhost:8081 loadtest/items.js   (WebFlux + R2DBC, reactive/)
+// VUS sets the number of concurrent connections (default 1000), DURATION the measured time.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '1000');
+const SEED = 1000;
+
+export const options = {
+    scenarios: {
+        items: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: __ENV.DURATION || '2m', target: VUS },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const items = [];
+    for (let i = 0; i < SEED; i++) {
+        items.push({ name: `Item ${i}`, description: 'load test', status: 'NEW', email: `user${i}@example.com` });
+    }
+    const res = http.post(`${BASE_URL}/api/items/batch`, JSON.stringify(items),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'seeded': (r) => r.status === 201 });
+    return { ids: res.json().map((item) => item.id) };
+}
+
+export default function (data) {
+    // mostly single reads and small pages, the traffic mix the gateway sends
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    check(http.get(`${BASE_URL}/api/items/${id}`, { tags: { name: 'get' } }), { 'get 200': (r) => r.status === 200 });
+    const page = http.get(`${BASE_URL}/api/items/page?after=${id}&size=50`, { tags: { name: 'page' } });
+    check(page, { 'page 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,20 @@
+package com.siemens.internship.reactive.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits applied by the REST layer (prefix {@code item.api}), same keys as the MVC application.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.api")
+public class ApiProperties {
+
+    private int maxBatchSize = 1000;
+
+    private int defaultPageSize = 100;
+
+    private int maxPageSize = 1000;
+}
@@ -0,0 +1,22 @@
+package com.siemens.internship.reactive.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the reactive processing run (prefix {@code item.processing}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.processing")
+public class ProcessingProperties {
+
+    private int concurrency = 256; // items waiting at once; a wait holds no thread, so this can be far above a pool size
+
+    private int chunkSize = 100; // items per status UPDATE
+
+    private Duration simulatedWork = Duration.ofSeconds(1);
+}
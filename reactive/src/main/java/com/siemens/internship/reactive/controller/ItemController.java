@@ -0,0 +1,108 @@
+package com.siemens.internship.reactive.controller;
+
+import com.siemens.internship.reactive.config.ApiProperties;
+import com.siemens.internship.reactive.model.Item;
+import com.siemens.internship.reactive.service.ItemService;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Same /api/items contract as the MVC ItemController. Lists are returned as a Flux: the JSON array (or NDJSON
+ * on /stream) is written element by element and rows are only fetched as fast as the client reads them.
+ */
+@RestController
+@RequestMapping("/api/items")
+public class ItemController {
+
+    private final ItemService itemService;
+    private final Validator validator;
+    private final ApiProperties apiProperties;
+
+    public ItemController(ItemService itemService, Validator validator, ApiProperties apiProperties) {
+        this.itemService = itemService;
+        this.validator = validator;
+        this.apiProperties = apiProperties;
+    }
+
+    @GetMapping
+    public Flux<Item> getAllItems() {
+        return itemService.findAll();
+    }
+
+    @GetMapping("/page")
+    public Mono<ResponseEntity<?>> getItemsPage(@RequestParam(required = false) Long after,
+                                                @RequestParam(required = false) Integer size) { // keyset pagination on id
+        int pageSize = size == null ? apiProperties.getDefaultPageSize() : size;
+        if (pageSize < 1 || pageSize > apiProperties.getMaxPageSize()) {
+            return Mono.just(new ResponseEntity<>("Size must be between 1 and " + apiProperties.getMaxPageSize(), HttpStatus.BAD_REQUEST));
+        }
+        return itemService.findPage(after, pageSize).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Item> streamItems() { // one JSON object per line, flushed as the rows arrive
+        return itemService.findAll();
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Item>> createItem(@Valid @RequestBody Item item) { // invalid body -> handleInvalidInput
+        return itemService.save(item).map(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<?>> createItems(@RequestBody List<Item> items) {
+        if (items.isEmpty() || items.size() > apiProperties.getMaxBatchSize()) {
+            return Mono.just(new ResponseEntity<>("Batch size must be between 1 and " + apiProperties.getMaxBatchSize(), HttpStatus.BAD_REQUEST));
+        }
+        boolean invalid = items.stream().anyMatch(item -> item == null || !validator.validate(item).isEmpty()); // @Valid does not cascade into a List body
+        if (invalid) {
+            return Mono.just(new ResponseEntity<>("Invalid input", HttpStatus.BAD_REQUEST));
+        }
+        return itemService.saveAll(items).collectList().map(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Item>> getItemById(@PathVariable Long id) {
+        return itemService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateItem(@PathVariable Long id, @Valid @RequestBody Item item) {
+        return itemService.updateItem(id, item)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND))
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        ex -> Mono.just(new ResponseEntity<>("Item was changed by another request", HttpStatus.CONFLICT)));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteItem(@PathVariable Long id) {
+        return itemService.deleteById(id)
+                .map(deleted -> new ResponseEntity<Void>(deleted ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/process")
+    public Mono<ResponseEntity<List<Item>>> processItems() { // like the MVC endpoint, answers once every item is processed
+        return itemService.processItems()
+                .collectList()
+                .map(ResponseEntity::ok)
+                .onErrorResume(ex -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(List.of())));
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<String> handleInvalidInput(WebExchangeBindException ex) { // same body as the MVC BindingResult checks
+        return new ResponseEntity<>("Invalid input", HttpStatus.BAD_REQUEST);
+    }
+}
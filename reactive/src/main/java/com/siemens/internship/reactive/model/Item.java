@@ -0,0 +1,31 @@
+package com.siemens.internship.reactive.model;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("item")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class Item {
+    public static final String EMAIL_REGEX = "^[\\w!#$%&*+=.-]+@[\\w.-]+\\.[a-zA-Z]{2,4}$"; // same rule as the MVC API
+
+    @Id
+    private Long id;
+    private String name;
+    private String description;
+    private String status;
+
+    @Pattern(regexp = EMAIL_REGEX, message = "Invalid email")
+    private String email;
+
+    @Version
+    private Long version; // optimistic locking, a save based on an older version fails
+}
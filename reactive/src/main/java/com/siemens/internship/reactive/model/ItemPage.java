@@ -0,0 +1,10 @@
+package com.siemens.internship.reactive.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) listing. nextCursor is passed back as "after" to get the next page,
+ * it is null on the last page.
+ */
+public record ItemPage(List<Item> items, Long nextCursor) {
+}
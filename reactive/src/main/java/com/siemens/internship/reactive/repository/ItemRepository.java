@@ -0,0 +1,29 @@
+package com.siemens.internship.reactive.repository;
+
+import com.siemens.internship.reactive.model.Item;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface ItemRepository extends ReactiveCrudRepository<Item, Long> {
+
+    @Query("SELECT * FROM item WHERE id > :after ORDER BY id LIMIT :size") // keyset page, uses the primary key index
+    Flux<Item> findPage(Long after, int size);
+
+    @Query("SELECT * FROM item ORDER BY id")
+    Flux<Item> findAllOrderById(); // rows are emitted as the client reads them, nothing is collected
+
+    Flux<Item> findByStatusNotOrStatusIsNull(String status);
+
+    @Modifying
+    @Query("UPDATE item SET status = :status, version = version + 1 WHERE id IN (:ids)")
+    Mono<Integer> updateStatusByIdIn(Collection<Long> ids, String status);
+
+    @Modifying
+    @Query("DELETE FROM item WHERE id = :id")
+    Mono<Integer> deleteItem(Long id); // one statement instead of exists + delete
+}
@@ -0,0 +1,105 @@
+package com.siemens.internship.reactive.service;
+
+import com.siemens.internship.reactive.config.ProcessingProperties;
+import com.siemens.internship.reactive.model.Item;
+import com.siemens.internship.reactive.model.ItemPage;
+import com.siemens.internship.reactive.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the MVC ItemService: every method returns a publisher and no call waits on a thread,
+ * so the number of in-flight requests is bounded by memory and the connection pool, not by a thread pool.
+ */
+@Slf4j
+@Service
+public class ItemService {
+    public static final String PROCESSED = "PROCESSED";
+
+    private final ItemRepository itemRepository;
+    private final ProcessingProperties processingProperties;
+
+    public ItemService(ItemRepository itemRepository, ProcessingProperties processingProperties) {
+        this.itemRepository = itemRepository;
+        this.processingProperties = processingProperties;
+    }
+
+    public Flux<Item> findAll() {
+        return itemRepository.findAllOrderById();
+    }
+
+    public Mono<ItemPage> findPage(Long after, int size) {
+        return itemRepository.findPage(after == null ? Long.MIN_VALUE : after, size)
+                .collectList()
+                .map(items -> new ItemPage(items, items.size() < size ? null : items.get(items.size() - 1).getId()));
+    }
+
+    public Mono<Item> findById(Long id) {
+        return itemRepository.findById(id);
+    }
+
+    public Mono<Item> save(Item item) { // always creates: an id or version sent by the client is ignored
+        item.setId(null);
+        item.setVersion(null);
+        return itemRepository.save(item);
+    }
+
+    @Transactional
+    public Flux<Item> saveAll(List<Item> items) {
+        items.forEach(item -> {
+            item.setId(null);
+            item.setVersion(null);
+        });
+        return itemRepository.saveAll(items);
+    }
+
+    /**
+     * Replaces the editable fields of the item. A version in the body must match the stored one, otherwise
+     * the Mono fails with OptimisticLockingFailureException. Empty when the item does not exist.
+     */
+    public Mono<Item> updateItem(Long id, Item updatedItem) {
+        return itemRepository.findById(id).flatMap(existingItem -> {
+            if (updatedItem.getVersion() != null && !updatedItem.getVersion().equals(existingItem.getVersion())) {
+                return Mono.error(new OptimisticLockingFailureException("Item " + id + " is at version "
+                        + existingItem.getVersion() + ", not " + updatedItem.getVersion()));
+            }
+            existingItem.setName(updatedItem.getName());
+            existingItem.setDescription(updatedItem.getDescription());
+            existingItem.setStatus(updatedItem.getStatus());
+            existingItem.setEmail(updatedItem.getEmail());
+            return itemRepository.save(existingItem); // the UPDATE checks the version again
+        });
+    }
+
+    public Mono<Boolean> deleteById(Long id) {
+        return itemRepository.deleteItem(id).map(deleted -> deleted > 0);
+    }
+
+    /**
+     * Processes every item that is not processed yet and emits them once their chunk is written.
+     * The simulated work is a timer, not a sleep, so item.processing.concurrency items wait at once without
+     * holding threads; the row cursor is only read as fast as the flatMap takes items (backpressure).
+     */
+    public Flux<Item> processItems() {
+        return itemRepository.findByStatusNotOrStatusIsNull(PROCESSED)
+                .flatMap(this::processItem, processingProperties.getConcurrency())
+                .buffer(processingProperties.getChunkSize())
+                .concatMap(chunk -> itemRepository.updateStatusByIdIn(chunk.stream().map(Item::getId).toList(), PROCESSED)
+                        .thenMany(Flux.fromIterable(chunk)))
+                .doOnError(ex -> log.error("Processing run failed", ex));
+    }
+
+    private Mono<Item> processItem(Item item) {
+        return Mono.delay(processingProperties.getSimulatedWork()) // simulate work
+                .map(tick -> {
+                    item.setStatus(PROCESSED); // only the emitted copy, the row is updated with the rest of its chunk
+                    return item;
+                });
+    }
+}
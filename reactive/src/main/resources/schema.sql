@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS item (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    status VARCHAR(255),
+    email VARCHAR(255),
+    version BIGINT
+);
+CREATE INDEX IF NOT EXISTS idx_item_status ON item (status);
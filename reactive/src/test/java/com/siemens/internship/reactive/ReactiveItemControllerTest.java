@@ -0,0 +1,121 @@
+package com.siemens.internship.reactive;
+
+import com.siemens.internship.reactive.model.Item;
+import com.siemens.internship.reactive.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "item.processing.simulated-work=10ms")
+@AutoConfigureWebTestClient
+class ReactiveItemControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void setup() {
+        itemRepository.deleteAll().block();
+    }
+
+    private List<Item> saveItems(int count) {
+        return Flux.range(0, count)
+                .map(i -> new Item(null, "Item" + i, "D", "NEW", "a@example.com", null))
+                .concatMap(itemRepository::save)
+                .collectList()
+                .block();
+    }
+
+    @Test
+    void testCreateAndGetItem() {
+        Item created = webTestClient.post().uri("/api/items")
+                .bodyValue(new Item(null, "a", "d", "NEW", "a@example.com", null))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Item.class).returnResult().getResponseBody();
+
+        assertNotNull(created.getId());
+        webTestClient.get().uri("/api/items/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("a");
+    }
+
+    @Test
+    void testCreateInvalidEmail() {
+        webTestClient.post().uri("/api/items")
+                .bodyValue(new Item(null, "a", "d", "NEW", "not-an-email", null))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Invalid input");
+    }
+
+    @Test
+    void testGetMissingItem() {
+        webTestClient.get().uri("/api/items/{id}", 12345).exchange().expectStatus().isNotFound();
+        webTestClient.delete().uri("/api/items/{id}", 12345).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void testUpdateWithStaleVersionConflicts() {
+        Item item = saveItems(1).get(0);
+        Item update = new Item(null, "b", "d", "NEW", "a@example.com", item.getVersion() + 1);
+
+        webTestClient.put().uri("/api/items/{id}", item.getId()).bodyValue(update)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testPagesFollowCursor() {
+        saveItems(5);
+
+        webTestClient.get().uri("/api/items/page?size=3")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(3)
+                .jsonPath("$.nextCursor").isNotEmpty();
+        webTestClient.get().uri("/api/items/page?size=0").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testStreamEmitsEveryItem() {
+        saveItems(20);
+
+        Flux<Item> body = webTestClient.get().uri("/api/items/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Item.class).getResponseBody();
+
+        StepVerifier.create(body).expectNextCount(20).verifyComplete();
+    }
+
+    @Test
+    void testProcessItems() {
+        saveItems(10);
+
+        webTestClient.get().uri("/api/items/process")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(10);
+
+        StepVerifier.create(itemRepository.findAll())
+                .thenConsumeWhile(item -> "PROCESSED".equals(item.getStatus()))
+                .verifyComplete();
+    }
+}
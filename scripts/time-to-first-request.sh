@@ -0,0 +1,20 @@
+#!/usr/bin/env sh
+# Starts the application with the given JVM/app arguments and prints the time until the first request succeeds.
+#   scripts/time-to-first-request.sh -jar target/internship-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod
+#   scripts/time-to-first-request.sh -XX:SharedArchiveFile=target/cds/application.jsa -jar target/cds/internship-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod
+URL=${URL:-http://localhost:8080/api/items/page?size=1}
+
+start=$(date +%s%N)
+java "$@" > target/time-to-first-request.log 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null' EXIT
+
+until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 $pid 2>/dev/null; then
+        echo "application exited, see target/time-to-first-request.log" >&2
+        exit 1
+    fi
+    sleep 0.05
+done
+end=$(date +%s%N)
+echo "time to first request: $(( (end - start) / 1000000 )) ms"
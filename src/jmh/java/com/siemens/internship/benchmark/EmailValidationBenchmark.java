@@ -0,0 +1,109 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemValidationError;
+import com.siemens.internship.service.ItemValidationService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating a bulk import of BATCH items (10% invalid emails): Bean Validation with the former @Pattern,
+ * Bean Validation with @ValidEmail, and ItemValidationService. Reported per item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailValidationBenchmark {
+
+    private static final int BATCH = 10_000;
+
+    /**
+     * Item as it was validated before @ValidEmail.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class PatternItem {
+        @Pattern(regexp = Item.EMAIL_REGEX, message = "Invalid email")
+        private String email;
+    }
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ExecutorService executor;
+    private ItemValidationService itemValidationService;
+    private List<Item> items;
+    private List<PatternItem> patternItems;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        itemValidationService = new ItemValidationService(executor);
+        items = new ArrayList<>(BATCH);
+        patternItems = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            String email = i % 10 == 0 ? "user" + i + "@invalid" : "user" + i + "@domain" + (i % 50) + ".com";
+            items.add(new Item(null, "Item" + i, "D", "NEW", email));
+            patternItems.add(new PatternItem(email));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void beanValidationPattern(Blackhole blackhole) {
+        for (PatternItem item : patternItems) {
+            Set<ConstraintViolation<PatternItem>> violations = validator.validate(item);
+            blackhole.consume(violations);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void beanValidationValidEmail(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(validator.validate(item));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<ItemValidationError> bulkValidationService() {
+        return itemValidationService.validate(items);
+    }
+}
@@ -0,0 +1,76 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemExportService;
+import com.siemens.internship.service.ItemService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without the web layer against a fresh in-memory H2 database
+ * and fills it with the requested number of items before a benchmark trial.
+ */
+@State(Scope.Benchmark)
+public class ItemBenchmarkState {
+
+    private static final int LOAD_BATCH = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int items;
+
+    public ConfigurableApplicationContext context;
+    public ItemService itemService;
+    public ItemRepository itemRepository;
+    public ItemExportService itemExportService;
+    public long firstId;
+    public long lastId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .run( // arguments, not builder defaults, so they override application.properties
+                        "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "--item.processing.simulated-work=0s", // measure the pipeline, not the sleep
+                        "--item.cache.enabled=false", // lookups hit the database
+                        "--item.audit.enabled=false", // the per-invocation reset would write a history row for every item
+                        "--logging.level.root=WARN");
+        itemService = context.getBean(ItemService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        itemExportService = context.getBean(ItemExportService.class);
+
+        for (int loaded = 0; loaded < items; loaded += LOAD_BATCH) {
+            List<Item> batch = newItems(Math.min(LOAD_BATCH, items - loaded));
+            List<Item> saved = itemService.saveAll(batch);
+            if (loaded == 0) {
+                firstId = saved.get(0).getId();
+            }
+            lastId = saved.get(saved.size() - 1).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public static List<Item> newItems(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(null, "Item" + i, "Description " + i, "NEW", "item" + i + "@example.com"));
+        }
+        return items;
+    }
+}
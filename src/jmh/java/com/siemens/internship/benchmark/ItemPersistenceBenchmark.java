@@ -0,0 +1,63 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.model.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert, lookup and scan costs of ItemService / ItemRepository. The insert benchmarks grow the table
+ * during the trial, the data-size parameter is the size at the start of the trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemPersistenceBenchmark {
+
+    private static final int BULK_SIZE = 1000;
+
+    @Benchmark
+    public Item insertSingle(ItemBenchmarkState state) {
+        return state.itemService.save(new Item(null, "Item", "Description", "NEW", "item@example.com"));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE) // reported per item, comparable with insertSingle
+    public List<Item> insertBulk(ItemBenchmarkState state) {
+        return state.itemService.saveAll(ItemBenchmarkState.newItems(BULK_SIZE));
+    }
+
+    @Benchmark
+    public Object findById(ItemBenchmarkState state) {
+        long id = ThreadLocalRandom.current().nextLong(state.firstId, state.lastId + 1);
+        return state.itemService.findById(id);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public List<Item> fullScanFindAll(ItemBenchmarkState state) {
+        return state.itemService.findAll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public long fullScanStream(ItemBenchmarkState state, Blackhole blackhole) {
+        return state.itemExportService.streamAll(blackhole::consume);
+    }
+}
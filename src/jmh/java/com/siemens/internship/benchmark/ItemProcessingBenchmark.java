@@ -0,0 +1,44 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.service.ItemBatchProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full processing run (read chunks, run the item task, bulk status update) with the simulated work set to 0.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemProcessingBenchmark {
+
+    @Setup(Level.Invocation)
+    public void resetStatus(ItemBenchmarkState state) {
+        // processing only picks up unprocessed items, so every run starts from a fully NEW table
+        state.itemService.updateStatusInRange(state.firstId, state.lastId, "NEW");
+    }
+
+    @Benchmark
+    public ItemBatchProcessor.Result processItems(ItemBenchmarkState state) {
+        return state.itemService.processItems(chunk -> { });
+    }
+
+    @Benchmark
+    public Object processItemsAsync(ItemBenchmarkState state) throws Exception {
+        return state.itemService.processItemsAsync().get(); // includes collecting the processed items
+    }
+}
@@ -0,0 +1,61 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.service.ItemPage;
+import com.siemens.internship.service.ItemSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/items/search without the web layer: index lookups alone and with the page load from the database.
+ * Every item is "Item&lt;n&gt; Description &lt;n&gt;", so "item&lt;n&gt;" is a rare word and "description" occurs in every item.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Benchmark
+    public List<Long> indexRareWord(ItemBenchmarkState state) {
+        return index(state).search(rareWord(), null, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Long> indexCommonWordWithFilters(ItemBenchmarkState state) {
+        return index(state).search("description", "NEW", "example.com", randomId(state), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemPage searchRareWord(ItemBenchmarkState state) {
+        return state.itemService.search(rareWord(), null, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ItemPage searchCommonWordWithFilters(ItemBenchmarkState state) {
+        return state.itemService.search("description", "NEW", "example.com", randomId(state), PAGE_SIZE);
+    }
+
+    private static ItemSearchIndex index(ItemBenchmarkState state) {
+        return state.context.getBean(ItemSearchIndex.class);
+    }
+
+    private static String rareWord() {
+        return "item" + ThreadLocalRandom.current().nextInt(1000);
+    }
+
+    private static long randomId(ItemBenchmarkState state) {
+        return ThreadLocalRandom.current().nextLong(state.firstId, state.lastId + 1);
+    }
+}
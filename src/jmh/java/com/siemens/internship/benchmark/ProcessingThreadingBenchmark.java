@@ -0,0 +1,82 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.InternshipApplication;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ItemBatchProcessor;
+import com.siemens.internship.service.ItemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A processing run with blocking per-item work (item.processing.simulated-work=20ms) through the configured
+ * executors and pipeline, once on platform threads and once with spring.threads.virtual.enabled.
+ * Reported per item. Virtual threads need Java 21+; on older JDKs both runs use the platform beans.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessingThreadingBenchmark {
+
+    private static final int ITEMS = 2_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private long firstId;
+    private long lastId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(InternshipApplication.class)
+                .web(WebApplicationType.NONE)
+                .run( // arguments, not builder defaults, so they override application.properties
+                        "--spring.datasource.url=jdbc:h2:mem:bench-threading;DB_CLOSE_DELAY=-1",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--item.processing.simulated-work=20ms", // blocking wait, the case virtual threads are for
+                        "--item.audit.enabled=false", // the reset before every invocation would write a history row per item
+                        "--logging.level.root=WARN");
+        itemService = context.getBean(ItemService.class);
+        List<Item> saved = itemService.saveAll(ItemBenchmarkState.newItems(ITEMS));
+        firstId = saved.get(0).getId();
+        lastId = saved.get(saved.size() - 1).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetStatus() {
+        itemService.updateStatusInRange(firstId, lastId, "NEW");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public ItemBatchProcessor.Result processItems() {
+        return itemService.processItems(chunk -> { });
+    }
+}
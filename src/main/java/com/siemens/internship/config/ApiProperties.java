@@ -0,0 +1,20 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits applied by the REST layer (prefix {@code item.api}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.api")
+public class ApiProperties {
+
+    private int maxBatchSize = 10_000; // max number of items accepted by POST /api/items/batch
+
+    private int defaultPageSize = 100; // page size used when the client does not send one
+
+    private int maxPageSize = 1000; // largest page a client can request from paginated endpoints
+}
@@ -0,0 +1,31 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the asynchronous item history writer (prefix {@code item.audit}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.audit")
+public class AuditProperties {
+
+    private boolean enabled = true; // off: no new history is recorded, what was written stays readable
+
+    private int queueCapacity = 10_000; // changes waiting to be written
+
+    private int batchSize = 200; // rows per JDBC batch, a full batch is written right away
+
+    private Duration flushInterval = Duration.ofSeconds(1); // a partial batch waits at most this long
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    public enum OverflowPolicy {
+        BLOCK, // the writing request waits for room, no change is lost
+        DROP // the change is not recorded (counted in item.audit.dropped), requests never wait
+    }
+}
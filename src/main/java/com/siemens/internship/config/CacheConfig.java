@@ -0,0 +1,28 @@
+package com.siemens.internship.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ItemCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public ItemCache itemCache(CacheProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return ItemCache.disabled();
+        }
+        Cache<Long, Item> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats() // hit/miss/eviction counts for the cache.* metrics
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items");
+        return new ItemCache(cache);
+    }
+}
@@ -0,0 +1,22 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-process item cache in front of findById (prefix {@code item.cache}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.cache")
+public class CacheProperties {
+
+    private boolean enabled = true;
+
+    private long maxSize = 10_000; // entries, the least recently used ones are evicted first
+
+    private Duration ttl = Duration.ofMinutes(10); // upper bound for staleness if a write bypasses ItemService
+}
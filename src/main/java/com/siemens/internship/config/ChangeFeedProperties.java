@@ -0,0 +1,24 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the item change feed behind GET /api/items/changes (prefix {@code item.changes}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.changes")
+public class ChangeFeedProperties {
+
+    private int bufferSize = 10_000; // events kept for resuming, older offsets have to resync with a full GET
+
+    private Duration coalesceWindow = Duration.ofMillis(200); // status changes within this window go out as one event
+
+    private int maxIdsPerEvent = 1000; // a coalesced event is sent early once it holds this many ids
+
+    private Duration emitterTimeout = Duration.ofMinutes(30); // clients reconnect with Last-Event-ID after this
+}
@@ -0,0 +1,35 @@
+package com.siemens.internship.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many threads talk to the database at once. Sized to the connection pool, so that a
+ * burst of (virtual) threads waits here instead of timing out inside Hikari.
+ */
+public class DbAccessLimiter {
+
+    private final Semaphore permits;
+
+    public DbAccessLimiter(Semaphore permits) {
+        this.permits = permits;
+    }
+
+    public <T> T call(Supplier<T> dbCall) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a database permit", ie);
+        }
+        try {
+            return dbCall.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,118 @@
+package com.siemens.internship.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Named, bounded thread pools used instead of a static Executors.newFixedThreadPool.
+ * The pools are Spring beans, so they are shut down gracefully with the context, and every pool
+ * publishes executor.* gauges (queued, active, pool size; bound by Boot's TaskExecutorMetricsAutoConfiguration)
+ * plus a task latency timer.
+ * With spring.threads.virtual.enabled=true on Java 21+ the item tasks run on virtual threads instead
+ * (Tomcat request handling switches to virtual threads through the same property).
+ */
+@Configuration
+@EnableAsync
+public class ExecutorConfig {
+
+    public static final String ITEM_PROCESSING_EXECUTOR = "itemProcessingExecutor";
+    public static final String ITEM_ASYNC_EXECUTOR = "itemAsyncExecutor";
+    public static final String ITEM_JOB_EXECUTOR = "itemJobExecutor";
+    public static final String ITEM_PIPELINE_EXECUTOR = "itemPipelineExecutor";
+    public static final String ITEM_CHANGE_FEED_EXECUTOR = "itemChangeFeedExecutor";
+    // the name Boot's own task executor would have; WebMvcAutoConfiguration runs MVC async requests on this bean
+    public static final String WEB_ASYNC_EXECUTOR = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME;
+
+    @Bean(ITEM_PROCESSING_EXECUTOR)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor itemProcessingExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        return createExecutor(ITEM_PROCESSING_EXECUTOR, properties.getProcessing(), meterRegistry);
+    }
+
+    @Bean(ITEM_PROCESSING_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualItemProcessingExecutor(MeterRegistry meterRegistry) {
+        // one virtual thread per item: blocking in sleep/JDBC parks the virtual thread instead of holding a carrier,
+        // the number of live tasks is already bounded by the batch processor (chunkSize * maxChunksInFlight)
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(ITEM_PROCESSING_EXECUTOR + "-");
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(30_000); // close() waits for running items, like the platform pool
+        executor.setTaskDecorator(taskTimer(ITEM_PROCESSING_EXECUTOR, meterRegistry)::wrap);
+        return executor;
+    }
+
+    @Bean(ITEM_PIPELINE_EXECUTOR)
+    public SimpleAsyncTaskExecutor itemPipelineExecutor(Environment environment) {
+        // a stage worker is an endless loop, so it gets a thread of its own instead of a slot in a bounded pool;
+        // with virtual threads enabled the blocking stages can run thousands of workers
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(ITEM_PIPELINE_EXECUTOR + "-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setDaemon(true);
+        executor.setTaskTerminationTimeout(30_000); // tracks the workers, close() interrupts and waits for them
+        return executor;
+    }
+
+    @Bean(ITEM_ASYNC_EXECUTOR)
+    public ThreadPoolTaskExecutor itemAsyncExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        return createExecutor(ITEM_ASYNC_EXECUTOR, properties.getAsync(), meterRegistry);
+    }
+
+    @Bean(ITEM_JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor itemJobExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        return createExecutor(ITEM_JOB_EXECUTOR, properties.getJobs(), meterRegistry);
+    }
+
+    @Bean(ITEM_CHANGE_FEED_EXECUTOR)
+    public ThreadPoolTaskExecutor itemChangeFeedExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        return createExecutor(ITEM_CHANGE_FEED_EXECUTOR, properties.getChanges(), meterRegistry);
+    }
+
+    @Bean(WEB_ASYNC_EXECUTOR)
+    public ThreadPoolTaskExecutor webAsyncExecutor(ExecutorProperties properties, MeterRegistry meterRegistry) {
+        // our Executor beans make Boot's applicationTaskExecutor back off, and MVC would fall back to an unbounded
+        // SimpleAsyncTaskExecutor for StreamingResponseBody, Callable and DeferredResult handlers
+        return createExecutor(WEB_ASYNC_EXECUTOR, properties.getWeb(), meterRegistry);
+    }
+
+    @Bean
+    public DbAccessLimiter dbAccessLimiter(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        // virtual threads are cheap, connections are not: never ask Hikari for more connections than it has
+        return new DbAccessLimiter(new Semaphore(connectionPoolSize, true));
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(String name, ExecutorProperties.Pool pool, MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(pool.getMaxSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setRejectedExecutionHandler(pool.getRejectionPolicy() == ExecutorProperties.RejectionPolicy.ABORT
+                ? new ThreadPoolExecutor.AbortPolicy()
+                : new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true); // let running items finish when the context closes
+        executor.setAwaitTerminationSeconds(pool.getAwaitTerminationSeconds());
+        executor.setTaskDecorator(taskTimer(name, meterRegistry)::wrap);
+        return executor;
+    }
+
+    private Timer taskTimer(String name, MeterRegistry meterRegistry) {
+        return Timer.builder("executor.task.latency")
+                .description("Time spent running a task on the pool")
+                .tag("name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing of the application thread pools (prefix {@code item.executor}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.executor")
+public class ExecutorProperties {
+
+    private Pool processing = new Pool(10, 10, 2000); // runs the per-item work of processItemsAsync
+
+    private Pool async = new Pool(2, 4, 100); // runs @Async service methods (one thread per processing run)
+
+    private Pool jobs = jobsPool(); // runs the background processing jobs of POST /api/items/process, one thread per job
+
+    private Pool web = new Pool(8, 16, 200); // runs async MVC handlers, e.g. one thread per NDJSON export
+
+    private Pool changes = changesPool(); // sends change feed events, one thread per subscriber that is being written to
+
+    private static Pool jobsPool() {
+        Pool pool = new Pool(2, 4, 0); // no queue: a job either starts right away or the request is rejected
+        pool.setRejectionPolicy(RejectionPolicy.ABORT); // caller-runs would process the whole table on the request thread
+        return pool;
+    }
+
+    private static Pool changesPool() {
+        Pool pool = new Pool(2, 64, 0); // no queue: a delivery either gets a thread or is retried on the next dispatch
+        pool.setRejectionPolicy(RejectionPolicy.ABORT); // the dispatcher must never send to a client itself
+        pool.setAwaitTerminationSeconds(5);
+        return pool;
+    }
+
+    /**
+     * Settings of one bounded ThreadPoolTaskExecutor.
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+
+        private int coreSize;
+
+        private int maxSize;
+
+        private int queueCapacity; // bounded so that overload shows up as rejections instead of an ever-growing queue
+
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+        private int awaitTerminationSeconds = 30; // how long shutdown waits for running tasks
+
+        public Pool() {
+        }
+
+        public Pool(int coreSize, int maxSize, int queueCapacity) {
+            this.coreSize = coreSize;
+            this.maxSize = maxSize;
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public enum RejectionPolicy {
+        CALLER_RUNS, // the submitting thread runs the task itself, which slows the producer down
+        ABORT // the task is rejected with a TaskRejectedException
+    }
+}
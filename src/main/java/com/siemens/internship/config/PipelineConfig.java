@@ -0,0 +1,34 @@
+package com.siemens.internship.config;
+
+import com.siemens.internship.pipeline.ItemPipeline;
+import com.siemens.internship.pipeline.ItemProcessor;
+import com.siemens.internship.service.ItemProcessingMetrics;
+import com.siemens.internship.service.RetryPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+@Configuration
+public class PipelineConfig {
+
+    @Bean
+    public ItemPipeline itemPipeline(List<ItemProcessor> processors, PipelineProperties pipelineProperties,
+                                     ProcessingProperties processingProperties, ItemProcessingMetrics metrics,
+                                     @Qualifier(ExecutorConfig.ITEM_PIPELINE_EXECUTOR) Executor workerExecutor,
+                                     Environment environment, MeterRegistry meterRegistry) {
+        // every stage call is traced and retried on its own, so a transient failure only repeats that stage;
+        // IllegalArgumentException means the item itself is invalid (e.g. ValidationProcessor), another attempt can't help
+        RetryPolicy retryPolicy = new RetryPolicy(processingProperties.getRetry(), metrics::retried,
+                ex -> !(ex instanceof IllegalArgumentException));
+        return new ItemPipeline(processors, pipelineProperties, (processor, item) ->
+                metrics.observeStage(processor.name(), item, () ->
+                        retryPolicy.execute(processor.name() + " of item " + item.getId(), () -> processor.process(item))),
+                workerExecutor, Threading.VIRTUAL.isActive(environment), meterRegistry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-stage sizing of the item pipeline (prefix {@code item.pipeline}), keyed by ItemProcessor.name().
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.pipeline")
+public class PipelineProperties {
+
+    private Stage defaults = new Stage(); // used for stages without their own entry
+
+    private Map<String, Stage> stages = new HashMap<>();
+
+    public Stage forStage(String name) {
+        return stages.getOrDefault(name, defaults);
+    }
+
+    /**
+     * Workers and input queue size of one stage.
+     */
+    @Getter
+    @Setter
+    public static class Stage {
+
+        private int concurrency = 2;
+
+        private Integer virtualConcurrency; // workers with spring.threads.virtual.enabled, unset means concurrency
+
+        private int queueCapacity = 100; // a full queue blocks the stage in front of it
+
+        public int getConcurrency(boolean virtualThreads) {
+            return virtualThreads && virtualConcurrency != null ? virtualConcurrency : concurrency;
+        }
+    }
+}
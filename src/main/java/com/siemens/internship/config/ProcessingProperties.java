@@ -0,0 +1,67 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs for the chunked item processing engine (prefix {@code item.processing}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.processing")
+public class ProcessingProperties {
+
+    private int chunkSize = 500; // how many items are read from the DB per keyset query
+
+    private int maxChunksInFlight = 4; // upper bound for chunks being processed at the same time
+
+    private Duration simulatedWork = Duration.ofSeconds(1); // stand-in for the real per-item work, 0 in benchmarks
+
+    private String nodeId; // lease owner written on claimed items, a random id per start when not set
+
+    private Duration leaseDuration = Duration.ofMinutes(5); // claimed items go back to the backlog after this
+
+    private int maxJobs = 100; // processing jobs kept in memory for progress polling
+
+    private Duration jobTtl = Duration.ofHours(1); // how long a finished job (and its results) can still be read
+
+    private int maxJobResults = 10_000; // processed ids a job keeps for its results, the counters stay exact beyond it
+
+    private Retry retry = new Retry();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Retry of a failed item task or chunk write, with exponential backoff and random jitter.
+     */
+    @Getter
+    @Setter
+    public static class Retry {
+
+        private int maxAttempts = 3; // including the first attempt, 1 disables retries
+
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        private double multiplier = 2.0;
+
+        private Duration maxBackoff = Duration.ofSeconds(5);
+
+        private double jitter = 0.5; // each wait is randomly shortened by up to this fraction, so retries don't line up
+    }
+
+    /**
+     * Circuit breaker around the chunk writes: after failureThreshold consecutive failures the writes fail fast
+     * for openDuration, then a single trial write decides whether it closes again.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        private int failureThreshold = 5;
+
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
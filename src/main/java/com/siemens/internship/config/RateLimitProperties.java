@@ -0,0 +1,99 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rate limits and load shedding of the REST endpoints (prefix {@code item.limits}). Endpoints are keyed by the
+ * ItemController method name, e.g. item.limits.endpoints.processItems.rate=1. Clients are keyed by remote address,
+ * or by the client header when the request comes from one of the trusted proxies.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.limits")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private String clientHeader = "X-Client-Id"; // only read on requests from a trusted proxy
+
+    private Set<String> trustedProxies = new HashSet<>(); // remote addresses allowed to name the client, none by default
+
+    private long maxClients = 100_000; // token buckets kept, the least recently used are dropped
+
+    private Duration clientIdleTimeout = Duration.ofMinutes(10); // an idle client's bucket is dropped (it would be full again anyway)
+
+    private Limit defaults = new Limit(); // used for endpoints without their own entry, and for the keys an entry leaves out
+
+    private Map<String, EndpointLimit> endpoints = new HashMap<>();
+
+    public Limit forEndpoint(String name) {
+        EndpointLimit endpoint = endpoints.get(name);
+        return endpoint == null ? defaults : endpoint.over(defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        private double rate = 100; // requests per second and client, 0 turns the rate limit off
+
+        private int burst = 200; // requests a client may send at once after being idle
+
+        private boolean concurrencyLimited = true; // off for long-lived requests such as the SSE stream
+
+        private int initialConcurrency = 50;
+
+        private int minConcurrency = 2;
+
+        private int maxConcurrency = 200;
+
+        private Duration targetLatency = Duration.ofMillis(500); // slower requests shrink the concurrency limit
+
+        private double backoffRatio = 0.9;
+    }
+
+    /**
+     * The keys set for one endpoint; every key left unset (null) is taken from the defaults.
+     */
+    @Getter
+    @Setter
+    public static class EndpointLimit {
+
+        private Double rate;
+
+        private Integer burst;
+
+        private Boolean concurrencyLimited;
+
+        private Integer initialConcurrency;
+
+        private Integer minConcurrency;
+
+        private Integer maxConcurrency;
+
+        private Duration targetLatency;
+
+        private Double backoffRatio;
+
+        Limit over(Limit defaults) {
+            Limit limit = new Limit();
+            limit.setRate(rate != null ? rate : defaults.getRate());
+            limit.setBurst(burst != null ? burst : defaults.getBurst());
+            limit.setConcurrencyLimited(concurrencyLimited != null ? concurrencyLimited : defaults.isConcurrencyLimited());
+            limit.setInitialConcurrency(initialConcurrency != null ? initialConcurrency : defaults.getInitialConcurrency());
+            limit.setMinConcurrency(minConcurrency != null ? minConcurrency : defaults.getMinConcurrency());
+            limit.setMaxConcurrency(maxConcurrency != null ? maxConcurrency : defaults.getMaxConcurrency());
+            limit.setTargetLatency(targetLatency != null ? targetLatency : defaults.getTargetLatency());
+            limit.setBackoffRatio(backoffRatio != null ? backoffRatio : defaults.getBackoffRatio());
+            return limit;
+        }
+    }
+}
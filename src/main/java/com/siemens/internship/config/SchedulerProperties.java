@@ -0,0 +1,28 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the scheduled incremental processing run (prefix {@code item.scheduler}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.scheduler")
+public class SchedulerProperties {
+
+    private boolean enabled = false; // runs on a timer only when on, IncrementalProcessingScheduler.runOnce still works without it
+
+    private Duration interval = Duration.ofSeconds(30); // pause between the end of one run and the start of the next
+
+    private Duration initialDelay = Duration.ofSeconds(30);
+
+    private int batchSize = 10_000; // most items claimed per run, the rest waits for the next tick
+
+    // items are read from the checkpoint minus this margin, so a change committed late with an older
+    // last_modified is still picked up; already processed items in the margin are skipped by the status filter
+    private Duration safetyMargin = Duration.ofSeconds(5);
+}
@@ -0,0 +1,15 @@
+package com.siemens.internship.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on @Scheduled methods (incremental processing, search index resync and rebuild) only with
+ * item.scheduler.enabled=true, so tests and manual runs never race a background tick for the same items.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "item.scheduler", name = "enabled", havingValue = "true")
+public class SchedulingConfig {
+}
@@ -0,0 +1,23 @@
+package com.siemens.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-process search index behind GET /api/items/search (prefix {@code item.search}).
+ * Both intervals are read by @Scheduled as well, so they need ISO-8601 values (PT30S) in the properties.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "item.search")
+public class SearchProperties {
+
+    private Duration resyncInterval = Duration.ofSeconds(30); // re-reads the items changed since the last sync, e.g. by other nodes
+
+    private Duration rebuildInterval = Duration.ofHours(1); // full rebuild, also drops items deleted by other nodes
+
+    private Duration safetyMargin = Duration.ofSeconds(5); // a resync reads from the last sync minus this, for late commits
+}
@@ -1,33 +1,171 @@
 package com.siemens.internship.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.siemens.internship.config.ApiProperties;
+import com.siemens.internship.config.ChangeFeedProperties;
+import com.siemens.internship.service.DeadLetterService;
+import com.siemens.internship.service.ItemAuditLog;
+import com.siemens.internship.service.ItemChangeFeed;
+import com.siemens.internship.service.ItemExportService;
 import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ItemValidationService;
+import com.siemens.internship.service.ProcessingJob;
+import com.siemens.internship.service.ProcessingJobService;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemChangeEvent;
+import com.siemens.internship.model.ItemHistory;
+import com.siemens.internship.model.ItemListVersion;
+import com.siemens.internship.model.ItemPatch;
+import com.siemens.internship.model.ItemValidationError;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/items")
 public class ItemController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final Set<String> ITEM_FIELDS = Set.of("id", "name", "description", "status", "email");
+    private static final Set<String> SUMMARY_FIELDS = Set.of("id", "name", "status");
+
     private final ItemService itemService;
+    private final ItemValidationService itemValidationService;
+    private final ApiProperties apiProperties;
+    private final ProcessingJobService processingJobService;
+    private final ItemExportService itemExportService;
+    private final ObjectWriter itemWriter;
+    private final DeadLetterService deadLetterService;
+    private final ItemChangeFeed changeFeed;
+    private final ChangeFeedProperties changeFeedProperties;
+    private final ItemAuditLog auditLog;
 
-    public ItemController(ItemService itemService) { // removed @Autowired field injection
+    public ItemController(ItemService itemService, ItemValidationService itemValidationService, ApiProperties apiProperties,
+                          ProcessingJobService processingJobService, ItemExportService itemExportService,
+                          ObjectMapper objectMapper, DeadLetterService deadLetterService, ItemChangeFeed changeFeed,
+                          ChangeFeedProperties changeFeedProperties, ItemAuditLog auditLog) { // removed @Autowired field injection
         this.itemService = itemService;
+        this.processingJobService = processingJobService;
+        this.itemExportService = itemExportService;
+        this.itemWriter = objectMapper.writerFor(Item.class);
+        this.deadLetterService = deadLetterService;
+        this.changeFeed = changeFeed;
+        this.changeFeedProperties = changeFeedProperties;
+        this.auditLog = auditLog;
+        this.itemValidationService = itemValidationService;
+        this.apiProperties = apiProperties;
     }
 
     @GetMapping
-    public ResponseEntity<List<Item>> getAllItems() {
+    public ResponseEntity<?> getAllItems(@RequestParam(required = false) Set<String> fields, WebRequest request) {
+        // fields=id,name,status (or any subset) selects the lightweight projection instead of full entities
+        if (fields != null && !ITEM_FIELDS.containsAll(fields)) {
+            return new ResponseEntity<>("Unknown field, allowed: " + ITEM_FIELDS, HttpStatus.BAD_REQUEST);
+        }
+        boolean summary = fields != null && !fields.isEmpty() && SUMMARY_FIELDS.containsAll(fields);
+
+        // validate against count, max(id) and sum(version) before loading anything, unchanged lists cost one aggregate query
+        ItemListVersion version = itemService.listVersion();
+        String eTag = version.eTag(summary ? "summary" : "full"); // the two representations need different tags
+        // no Last-Modified: a delete leaves max(lastModified) alone, so If-Modified-Since would answer 304 for a shorter list
+        if (request.checkNotModified(eTag)) {
+            return null; // 304 and the validators are already set on the response
+        }
+        if (summary) {
+            return new ResponseEntity<>(itemService.findAllSummaries(), HttpStatus.OK);
+        }
         return new ResponseEntity<>(itemService.findAll(), HttpStatus.OK);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<?> getItemsPage(@RequestParam(required = false) Long after,
+                                          @RequestParam(required = false) Integer size) { // keyset pagination on id
+        int pageSize = size == null ? apiProperties.getDefaultPageSize() : size;
+        if (pageSize < 1 || pageSize > apiProperties.getMaxPageSize()) {
+            return new ResponseEntity<>("Size must be between 1 and " + apiProperties.getMaxPageSize(), HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(itemService.findPage(after, pageSize));
+    }
+
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamItems() { // one JSON object per line, written while the rows are read
+        StreamingResponseBody body = out -> itemExportService.streamAll(item -> {
+            try {
+                out.write(itemWriter.writeValueAsBytes(item));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex); // client went away, closes the cursor and the transaction
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchItems(@RequestParam(required = false) String q,
+                                         @RequestParam(required = false) String status,
+                                         @RequestParam(required = false) String domain,
+                                         @RequestParam(required = false) Long after,
+                                         @RequestParam(required = false) Integer size) { // words in name/description, email domain
+        int pageSize = size == null ? apiProperties.getDefaultPageSize() : size;
+        if (pageSize < 1 || pageSize > apiProperties.getMaxPageSize()) {
+            return new ResponseEntity<>("Size must be between 1 and " + apiProperties.getMaxPageSize(), HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(itemService.search(q, status, domain, after, pageSize));
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                                    @RequestParam(required = false) Long since) { // SSE instead of polling the list
+        // a reconnecting EventSource sends Last-Event-ID; without an offset the stream starts with the next change
+        long after = lastEventId != null ? lastEventId : since != null ? since : changeFeed.latestOffset();
+        SseEmitter emitter = new SseEmitter(changeFeedProperties.getEmitterTimeout().toMillis());
+        ItemChangeFeed.Subscription subscription;
+        try {
+            subscription = changeFeed.subscribe(after, new ItemChangeFeed.Subscriber() {
+                @Override
+                public void onEvents(List<ItemChangeEvent> events) throws IOException {
+                    for (ItemChangeEvent event : events) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.offset()))
+                                .name(event.type().name().toLowerCase())
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+                }
+
+                @Override
+                public void onClose(Exception cause) {
+                    emitter.complete(); // the client reconnects with its Last-Event-ID
+                }
+            });
+        } catch (ItemChangeFeed.OffsetExpiredException ex) {
+            // resync with GET /api/items, then follow from now; thrown because the body type is fixed to SseEmitter
+            throw new ResponseStatusException(HttpStatus.GONE, ex.getMessage());
+        }
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(ex -> subscription.cancel());
+        return ResponseEntity.ok(emitter);
+    }
+
     @PostMapping
     public ResponseEntity<?> createItem(@Valid @RequestBody Item item, BindingResult result) { // replaced item with ? because the body can contain an Item or String
         if (result.hasErrors()) {
@@ -36,30 +174,87 @@ public class ItemController {
         return new ResponseEntity<>(itemService.save(item), HttpStatus.CREATED); // no errors -> created
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createItems(@RequestBody List<Item> items) { // bulk load, saved in a single batched transaction
+        if (items.isEmpty() || items.size() > apiProperties.getMaxBatchSize()) {
+            return new ResponseEntity<>("Batch size must be between 1 and " + apiProperties.getMaxBatchSize(), HttpStatus.BAD_REQUEST);
+        }
+        if (!itemValidationService.isValid(items)) { // @Valid does not cascade into a List body
+            return new ResponseEntity<>("Invalid input", HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(itemService.saveAll(items), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/validate")
+    public ResponseEntity<?> validateItems(@RequestBody List<Item> items) { // dry run of a batch: every error, nothing saved
+        if (items.isEmpty() || items.size() > apiProperties.getMaxBatchSize()) {
+            return new ResponseEntity<>("Batch size must be between 1 and " + apiProperties.getMaxBatchSize(), HttpStatus.BAD_REQUEST);
+        }
+        List<ItemValidationError> errors = itemValidationService.validate(items);
+        return ResponseEntity.ok(errors);
+    }
 
     @GetMapping("/{id}")
     public ResponseEntity<Item> getItemById(@PathVariable Long id) {
         return itemService.findById(id)
-                .map(item -> new ResponseEntity<>(item, HttpStatus.OK))
+                .map(item -> withETag(ResponseEntity.ok(), item).body(item))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND)); // replaced NO_CONTENT with NOT_FOUND
         // if there is no item with that id -> no item found
     }
 
+    @GetMapping("/{id}/history")
+    public ResponseEntity<?> getItemHistory(@PathVariable Long id, @RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer size) { // oldest change first, keyset on history id
+        int pageSize = size == null ? apiProperties.getDefaultPageSize() : size;
+        if (pageSize < 1 || pageSize > apiProperties.getMaxPageSize()) {
+            return new ResponseEntity<>("Size must be between 1 and " + apiProperties.getMaxPageSize(), HttpStatus.BAD_REQUEST);
+        }
+        List<ItemHistory> history = auditLog.findHistory(id, after, pageSize);
+        if (history.isEmpty() && after == null && itemService.findById(id).isEmpty()) {
+            return new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND); // deleted items keep their history
+        }
+        return ResponseEntity.ok(history);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateItem(@PathVariable Long id, @Valid @RequestBody Item item, BindingResult result) {
+    public ResponseEntity<?> updateItem(@PathVariable Long id, @Valid @RequestBody Item item, BindingResult result,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         if (result.hasErrors()) { // if validation fails
             return new ResponseEntity<>("Invalid input", HttpStatus.BAD_REQUEST);
         }
-        Optional<Item> updateItem = itemService.updateItem(id, item); // created an update function in Service
+        Optional<Item> updateItem;
+        try {
+            Long expectedVersion = ifMatch != null ? parseIfMatch(ifMatch) : item.getVersion(); // the header wins over the body
+            updateItem = itemService.updateItem(id, item, expectedVersion); // created an update function in Service
+        } catch (OptimisticLockingFailureException | NumberFormatException ex) {
+            return conflict(ifMatch);
+        }
 
         if (updateItem.isPresent()) {
-            return ResponseEntity.ok(updateItem.get());
+            return withETag(ResponseEntity.ok(), updateItem.get()).body(updateItem.get());
         } else {
             return new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND);
         }
 
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchItem(@PathVariable Long id, @Valid @RequestBody ItemPatch patch, BindingResult result,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (result.hasErrors()) {
+            return new ResponseEntity<>("Invalid input", HttpStatus.BAD_REQUEST);
+        }
+        Optional<Item> patched;
+        try {
+            patched = itemService.patchItem(id, patch, ifMatch != null ? parseIfMatch(ifMatch) : null);
+        } catch (OptimisticLockingFailureException | NumberFormatException ex) {
+            return conflict(ifMatch);
+        }
+        return patched
+                .<ResponseEntity<?>>map(item -> withETag(ResponseEntity.ok(), item).body(item))
+                .orElse(new ResponseEntity<>("Item not found", HttpStatus.NOT_FOUND));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
         boolean deleted = itemService.deleteById(id);
@@ -78,4 +273,81 @@ public class ItemController {
                         ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                                 .body(Collections.emptyList()));
     }
+
+    @PostMapping("/process")
+    public ResponseEntity<?> startProcessing() { // returns right away, the client polls the job instead of waiting for the whole run
+        ProcessingJob job;
+        try {
+            job = processingJobService.start();
+        } catch (IllegalStateException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE); // registry full of running jobs
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/items/process/" + job.getId()))
+                .body(job.toStatus());
+    }
+
+    @GetMapping("/process/{jobId}")
+    public ResponseEntity<ProcessingJob.Status> getProcessingStatus(@PathVariable String jobId) {
+        return processingJobService.status(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND)); // unknown or expired job
+    }
+
+    @GetMapping("/process/{jobId}/results")
+    public ResponseEntity<?> getProcessingResults(@PathVariable String jobId,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "100") int size) {
+        if (page < 0 || size < 1 || size > apiProperties.getMaxPageSize()) {
+            return new ResponseEntity<>("Page must be >= 0 and size between 1 and " + apiProperties.getMaxPageSize(), HttpStatus.BAD_REQUEST);
+        }
+        return processingJobService.results(jobId, page, size)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/dead-letters")
+    public ResponseEntity<?> getDeadLetters(@RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer size) { // items that failed all retries
+        int pageSize = size == null ? apiProperties.getDefaultPageSize() : size;
+        if (pageSize < 1 || pageSize > apiProperties.getMaxPageSize()) {
+            return new ResponseEntity<>("Size must be between 1 and " + apiProperties.getMaxPageSize(), HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(deadLetterService.findPage(after, pageSize));
+    }
+
+    @PostMapping("/dead-letters/reprocess")
+    public ResponseEntity<?> reprocessDeadLetters() { // makes the failed items claimable again and starts a job for them
+        deadLetterService.releaseForReprocessing();
+        return startProcessing();
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Item item) {
+        // the version is the ETag; with validators set Spring answers If-None-Match / If-Modified-Since with 304 itself
+        if (item.getVersion() != null) {
+            builder.eTag(String.valueOf(item.getVersion()));
+        }
+        if (item.getLastModified() != null) {
+            builder.lastModified(item.getLastModified());
+        }
+        return builder;
+    }
+
+    private static Long parseIfMatch(String ifMatch) { // "*" matches any version, otherwise "<version>" or W/"<version>"
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        return Long.valueOf(tag.replace("\"", ""));
+    }
+
+    private static ResponseEntity<String> conflict(String ifMatch) {
+        // a failed If-Match precondition is 412, a stale version in the body (or a concurrent write) is 409
+        return ifMatch != null
+                ? new ResponseEntity<>("Item was modified, reload it and retry", HttpStatus.PRECONDITION_FAILED)
+                : new ResponseEntity<>("Item was modified, reload it and retry", HttpStatus.CONFLICT);
+    }
 }
@@ -0,0 +1,131 @@
+package com.siemens.internship.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.siemens.internship.config.RateLimitProperties;
+import com.siemens.internship.service.AdaptiveConcurrencyLimiter;
+import com.siemens.internship.service.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the controller methods. Each client gets a token bucket per endpoint (429 when
+ * it is empty), and each endpoint has an adaptive concurrency limit (503 when it is reached). Both answers carry
+ * Retry-After. Counts are published as item.limits.requests{endpoint, outcome}, the current limits as
+ * item.limits.concurrency.limit / in.flight.
+ * Async requests are admitted once and release their permit when the async dispatch completes.
+ */
+public class LoadSheddingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = LoadSheddingInterceptor.class.getName() + ".permit";
+
+    private record Permit(AdaptiveConcurrencyLimiter limiter, long startNanos) {
+    }
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public LoadSheddingInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getClientIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod method) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true; // static resources, errors, or the second dispatch of an already admitted async request
+        }
+        String endpoint = method.getMethod().getName();
+        RateLimitProperties.Limit limit = properties.forEndpoint(endpoint);
+
+        if (limit.getRate() > 0) {
+            TokenBucket bucket = buckets.get(endpoint + " " + clientId(request),
+                    key -> new TokenBucket(limit.getRate(), limit.getBurst(), System::nanoTime));
+            long waitNanos = bucket.tryAcquire();
+            if (waitNanos > 0) {
+                count(endpoint, "rate_limited");
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1,
+                        "Too many requests, retry later");
+                return false;
+            }
+        }
+        if (limit.isConcurrencyLimited()) {
+            AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(endpoint, name -> newLimiter(name, limit));
+            if (!limiter.tryAcquire()) {
+                count(endpoint, "shed");
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is overloaded, retry later");
+                return false;
+            }
+            request.setAttribute(PERMIT, new Permit(limiter, System.nanoTime()));
+        }
+        count(endpoint, "admitted");
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof Permit permit) { // runs after the async dispatch for async requests
+            request.removeAttribute(PERMIT);
+            boolean success = ex == null && response.getStatus() < 500;
+            permit.limiter().release(System.nanoTime() - permit.startNanos(), success);
+        }
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!properties.getTrustedProxies().contains(remoteAddr)) {
+            return remoteAddr; // anyone else could send a new client header with every request to get a fresh bucket
+        }
+        String client = request.getHeader(properties.getClientHeader());
+        return client != null && !client.isBlank() ? client : remoteAddr;
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter(String endpoint, RateLimitProperties.Limit limit) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limit.getInitialConcurrency(),
+                limit.getMinConcurrency(), limit.getMaxConcurrency(), limit.getTargetLatency().toNanos(), limit.getBackoffRatio());
+        Gauge.builder("item.limits.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("item.limits.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private void count(String endpoint, String outcome) {
+        Counter.builder("item.limits.requests")
+                .description("Requests admitted, rate limited or shed by the load shedding interceptor")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry) // returns the existing counter after the first call
+                .increment();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+}
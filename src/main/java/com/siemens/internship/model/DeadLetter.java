@@ -0,0 +1,36 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An item whose processing failed after all retries. One row per item, repeated failures bump the counter.
+ */
+@Entity
+@Table(name = "item_dead_letter")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeadLetter {
+
+    public static final int MAX_CAUSE_LENGTH = 1000;
+
+    @Id
+    private Long itemId;
+
+    @Column(length = MAX_CAUSE_LENGTH)
+    private String cause;
+
+    private int failures;
+
+    private Instant failedAt;
+}
@@ -1,33 +1,68 @@
 package com.siemens.internship.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
-import jakarta.validation.constraints.Pattern;
+import com.siemens.internship.validation.ValidEmail;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
+@DynamicUpdate // UPDATE only the columns that changed, e.g. a PATCH of one field
+@Table(indexes = {
+        @Index(name = "idx_item_status", columnList = "status"), // claim query filters on status
+        @Index(name = "idx_item_last_modified", columnList = "lastModified") // max(lastModified) for list validators
+})
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Item {
+    public static final String EMAIL_REGEX = "^[\\w!#$%&*+=.-]+@[\\w.-]+\\.[a-zA-Z]{2,4}$";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
+    // pooled optimizer: one sequence call per 50 ids, and unlike IDENTITY it lets Hibernate batch the inserts
     private Long id;
     private String name;
     private String description;
     private String status;
 
-    @Pattern(
-            regexp = "^[\\w!#$%&*+=.-]+@[\\w.-]+\\.[a-zA-Z]{2,4}$",
-            message = "Invalid email"
-    ) // [letter|number|character]@[letter|number|underscore|.|-].[letters]
-    // we can also use @Email
+    @ValidEmail // [letter|number|character]@[letter|number|underscore|.|-].[letters], i.e. EMAIL_REGEX
     private String email;
+
+    @Version
+    private Long version; // optimistic locking: a write based on an older version fails instead of overwriting
+
+    @UpdateTimestamp
+    private Instant lastModified; // set on insert and update, sent as Last-Modified for conditional GETs
+
+    // the lease columns are only written by the claim queries: lease() does not bump the version, so an entity
+    // write racing a claim would pass its version check and could put back the lease values it loaded
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private String leaseOwner; // node that claimed the item for processing
+
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Instant leaseUntil; // the claim expires here, after that another node may take the item over
+
+    public Item(Long id, String name, String description, String status, String email) {
+        this(id, name, description, status, email, null, null, null, null);
+    }
 }
\ No newline at end of file
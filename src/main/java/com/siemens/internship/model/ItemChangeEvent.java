@@ -0,0 +1,19 @@
+package com.siemens.internship.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One entry of the item change feed. offset orders the events and is the SSE id clients resume from.
+ * item is set for single creates and updates; bulk changes only carry ids, or fromId/toId for a range update.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ItemChangeEvent(long offset, Type type, List<Long> ids, Long fromId, Long toId, String status, Item item,
+                              Instant timestamp) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, STATUS_CHANGED
+    }
+}
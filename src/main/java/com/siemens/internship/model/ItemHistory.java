@@ -0,0 +1,45 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One recorded change of an item, with the item as it was after the change (only the status for status changes,
+ * nothing for deletes). Rows are inserted by ItemAuditLog in JDBC batches and never updated.
+ */
+@Entity
+@Table(name = "item_history", indexes = {
+        @Index(name = "idx_item_history_item", columnList = "itemId, id") // history of one item in insert order
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // rows are written with plain JDBC, the database assigns ids
+    private Long id;
+
+    private Long itemId;
+
+    private String action; // ItemChangeEvent.Type name
+
+    private String name;
+    private String description;
+    private String status;
+    private String email;
+    private Long version;
+
+    private Instant changedAt;
+}
@@ -0,0 +1,15 @@
+package com.siemens.internship.model;
+
+/**
+ * Changes whenever an item is created, updated or deleted: every write bumps the version of its row and so
+ * versionSum, inserts also move maxId and deletes the count. Used as the ETag for conditional GETs of the item list;
+ * max(lastModified) only has millisecond precision and misses deletes and writes to older items, so it is neither
+ * part of the tag nor sent as Last-Modified.
+ */
+public record ItemListVersion(Long count, Long maxId, Long versionSum) {
+
+    public String eTag(String representation) { // weak: equal content, not necessarily equal bytes
+        return "W/\"" + count + "-" + (maxId == null ? 0 : maxId) + "-" + (versionSum == null ? 0 : versionSum)
+                + "-" + representation + "\"";
+    }
+}
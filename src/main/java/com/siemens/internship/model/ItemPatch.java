@@ -0,0 +1,10 @@
+package com.siemens.internship.model;
+
+import com.siemens.internship.validation.ValidEmail;
+
+/**
+ * Body of PATCH /api/items/{id}: only the non-null fields are changed.
+ */
+public record ItemPatch(String name, String description, String status,
+                        @ValidEmail String email) {
+}
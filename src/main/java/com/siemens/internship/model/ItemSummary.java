@@ -0,0 +1,8 @@
+package com.siemens.internship.model;
+
+/**
+ * Read-only projection for listing screens. Built directly by the query, so no managed entity
+ * (and no dirty-checking snapshot) is created per row.
+ */
+public record ItemSummary(Long id, String name, String status) {
+}
@@ -0,0 +1,7 @@
+package com.siemens.internship.model;
+
+/**
+ * One failed check of a bulk validation, index is the position of the item in the submitted list.
+ */
+public record ItemValidationError(int index, String field, String message) {
+}
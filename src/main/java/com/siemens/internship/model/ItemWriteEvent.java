@@ -0,0 +1,37 @@
+package com.siemens.internship.model;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by ItemService for every write it makes. The cache, search index, change feed and audit log listen
+ * for it after the transaction commits (right away for writes outside a transaction).
+ * items is set for creates and updates; bulk status changes carry ids, or fromId/toId for a range update.
+ */
+public record ItemWriteEvent(ItemChangeEvent.Type type, List<Item> items, Collection<Long> ids, Long fromId, Long toId,
+                             String status) {
+
+    public static ItemWriteEvent created(List<Item> items) {
+        return new ItemWriteEvent(ItemChangeEvent.Type.CREATED, items, items.stream().map(Item::getId).toList(), null, null, null);
+    }
+
+    public static ItemWriteEvent updated(Item item) {
+        return new ItemWriteEvent(ItemChangeEvent.Type.UPDATED, List.of(item), List.of(item.getId()), null, null, item.getStatus());
+    }
+
+    public static ItemWriteEvent deleted(Long id) {
+        return new ItemWriteEvent(ItemChangeEvent.Type.DELETED, List.of(), List.of(id), null, null, null);
+    }
+
+    public static ItemWriteEvent statusChanged(Collection<Long> ids, String status) {
+        return new ItemWriteEvent(ItemChangeEvent.Type.STATUS_CHANGED, List.of(), ids, null, null, status);
+    }
+
+    public static ItemWriteEvent statusChangedInRange(Long fromId, Long toId, String status) {
+        return new ItemWriteEvent(ItemChangeEvent.Type.STATUS_CHANGED, List.of(), List.of(), fromId, toId, status);
+    }
+
+    public boolean isRange() {
+        return fromId != null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Where the next incremental processing run starts: highWaterMark is the start of the last run, or the
+ * last_modified of the oldest item still pending after it (left over by the batch size or leased elsewhere) if that
+ * is older. Not the newest last_modified handed to processing: items older than that which were not claimed yet
+ * would be skipped for good. lastItemId is the last item the run completed, for information only.
+ * One row per named run, it survives restarts so a run never rescans the whole table.
+ */
+@Entity
+@Table(name = "item_processing_checkpoint")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessingCheckpoint {
+
+    @Id
+    private String name;
+
+    private Instant highWaterMark;
+
+    private Long lastItemId;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,36 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.model.Item;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Placeholder for the slow, I/O bound enrichment call; for now it only waits item.processing.simulated-work.
+ */
+@Component
+@Order(2)
+public class EnrichmentProcessor implements ItemProcessor {
+
+    private final long simulatedWorkMillis;
+
+    public EnrichmentProcessor(ProcessingProperties processingProperties) {
+        this.simulatedWorkMillis = processingProperties.getSimulatedWork().toMillis();
+    }
+
+    @Override
+    public String name() {
+        return "enrichment";
+    }
+
+    @Override
+    public Item process(Item item) {
+        try {
+            Thread.sleep(simulatedWorkMillis); // simulate work
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing item " + item.getId(), ie);
+        }
+        return item;
+    }
+}
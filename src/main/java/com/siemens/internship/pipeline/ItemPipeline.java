@@ -0,0 +1,275 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.config.PipelineProperties;
+import com.siemens.internship.model.Item;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs items through the ItemProcessor stages in order. Every stage has a bounded input queue and its own
+ * workers, so stages with different costs get different concurrency. A full queue blocks the stage
+ * (or the submitter) in front of it, which is how a slow stage pushes back on everything upstream.
+ * The workers are long-running tasks on workerExecutor; on virtual threads a stage runs virtualConcurrency
+ * of them, so blocking stages are no longer capped by a handful of platform threads.
+ */
+@Slf4j
+public class ItemPipeline implements AutoCloseable {
+
+    /**
+     * Calls a stage for one item, the place to add retries and tracing around every stage.
+     */
+    @FunctionalInterface
+    public interface StageInvoker {
+
+        Item invoke(ItemProcessor processor, Item item);
+    }
+
+    private record Task(Item item, CompletableFuture<Item> result, Run run) {
+    }
+
+    private final List<Stage> stages = new ArrayList<>();
+    private final StageInvoker invoker;
+    private final Executor workerExecutor;
+    private volatile boolean closed;
+
+    public ItemPipeline(List<ItemProcessor> processors, PipelineProperties properties, StageInvoker invoker,
+                        Executor workerExecutor, boolean virtualThreads, MeterRegistry meterRegistry) {
+        this.invoker = invoker;
+        this.workerExecutor = workerExecutor;
+        for (ItemProcessor processor : processors) {
+            PipelineProperties.Stage settings = properties.forStage(processor.name());
+            stages.add(new Stage(processor, stages.size(), settings.getConcurrency(virtualThreads), settings.getQueueCapacity(),
+                    meterRegistry));
+        }
+        for (int i = 0; i < stages.size() - 1; i++) {
+            stages.get(i).next = stages.get(i + 1);
+        }
+        stages.forEach(Stage::start);
+        log.info("Item pipeline stages: {}", stats());
+    }
+
+    /**
+     * Queues the item for the first stage, blocking while that stage is full. The future completes with the
+     * output of the last stage, or exceptionally with the failure of the first stage that threw.
+     */
+    public CompletableFuture<Item> submit(Item item) {
+        return submit(item, null);
+    }
+
+    /**
+     * Same as submit(item), the stages also count the item in run.
+     */
+    public CompletableFuture<Item> submit(Item item, Run run) {
+        if (closed) {
+            throw new IllegalStateException("Item pipeline is closed");
+        }
+        if (stages.isEmpty()) {
+            return CompletableFuture.completedFuture(item);
+        }
+        CompletableFuture<Item> result = new CompletableFuture<>();
+        try {
+            stages.get(0).enqueue(new Task(item, result, run));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(ie);
+        }
+        return result;
+    }
+
+    public List<StageStats> stats() {
+        return stages.stream().map(Stage::stats).toList();
+    }
+
+    /**
+     * Counters for the items of one caller, e.g. one processing run. The pipeline is shared by concurrent runs,
+     * so the difference of two stats() calls would count the items of the other runs as well.
+     */
+    public Run newRun() {
+        return new Run();
+    }
+
+    /**
+     * Stops the workers and fails every item still waiting in a stage queue, so callers waiting on
+     * the futures (e.g. the batch processor's in-flight permits) are released instead of hanging.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        stages.forEach(stage -> stage.workers.forEach(Thread::interrupt)); // the executor does not stop endless tasks by itself
+        stages.forEach(Stage::failQueued);
+    }
+
+    private static void failClosed(Task task) {
+        task.result().completeExceptionally(new IllegalStateException("Item pipeline closed before item "
+                + task.item().getId() + " was processed"));
+    }
+
+    /**
+     * Counters of one stage, since startup (stats()) or for the items of one run (Run.stats()).
+     */
+    public record StageStats(String name, int concurrency, int queueCapacity, int queued, long completed, long failed) {
+    }
+
+    /**
+     * Completed and failed items per stage, counted by the stage workers for the items submitted with this run.
+     */
+    public final class Run {
+
+        private final LongAdder[] completed = adders();
+        private final LongAdder[] failed = adders();
+
+        private Run() {
+        }
+
+        public List<StageStats> stats() {
+            List<StageStats> stats = new ArrayList<>(stages.size());
+            for (int i = 0; i < stages.size(); i++) {
+                Stage stage = stages.get(i);
+                stats.add(new StageStats(stage.processor.name(), stage.concurrency, stage.queueCapacity, stage.queue.size(),
+                        completed[i].sum(), failed[i].sum()));
+            }
+            return stats;
+        }
+
+        private LongAdder[] adders() {
+            LongAdder[] adders = new LongAdder[stages.size()];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+
+    private final class Stage {
+
+        private final ItemProcessor processor;
+        private final int index; // position in stages, also in every Run's counters
+        private final int concurrency;
+        private final int queueCapacity;
+        private final BlockingQueue<Task> queue;
+        private final Set<Thread> workers = ConcurrentHashMap.newKeySet(); // registered by the workers once they run
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final Timer latency;
+        private final Counter failures;
+        private Stage next; // null for the last stage
+
+        private Stage(ItemProcessor processor, int index, int concurrency, int queueCapacity, MeterRegistry meterRegistry) {
+            this.processor = processor;
+            this.index = index;
+            this.concurrency = concurrency;
+            this.queueCapacity = queueCapacity;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.latency = Timer.builder("item.pipeline.stage")
+                    .description("Time one item spends in a pipeline stage")
+                    .tag("stage", processor.name())
+                    .register(meterRegistry);
+            this.failures = Counter.builder("item.pipeline.stage.failed")
+                    .tag("stage", processor.name())
+                    .register(meterRegistry);
+            Gauge.builder("item.pipeline.stage.queued", queue, BlockingQueue::size)
+                    .description("Items waiting in front of a pipeline stage")
+                    .tag("stage", processor.name())
+                    .register(meterRegistry);
+        }
+
+        private void start() {
+            for (int i = 0; i < concurrency; i++) {
+                workerExecutor.execute(this::work);
+            }
+        }
+
+        private void work() {
+            Thread worker = Thread.currentThread();
+            workers.add(worker);
+            try {
+                loop();
+            } finally {
+                workers.remove(worker);
+            }
+        }
+
+        private void loop() {
+            while (!closed) {
+                Task task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException ie) {
+                    return; // close()
+                }
+                Item output;
+                long start = System.nanoTime();
+                try {
+                    output = invoker.invoke(processor, task.item());
+                    if (output == null) {
+                        throw new IllegalStateException("Stage " + processor.name() + " returned no item");
+                    }
+                } catch (RuntimeException ex) {
+                    failed.increment();
+                    failures.increment();
+                    if (task.run() != null) {
+                        task.run().failed[index].increment();
+                    }
+                    task.result().completeExceptionally(ex);
+                    continue;
+                } finally {
+                    latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                completed.increment();
+                if (task.run() != null) {
+                    task.run().completed[index].increment();
+                }
+                if (next == null) {
+                    task.result().complete(output);
+                    continue;
+                }
+                try {
+                    next.enqueue(new Task(output, task.result(), task.run())); // blocks while the next stage is full
+                } catch (InterruptedException ie) {
+                    task.result().completeExceptionally(ie);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Waits for room in the queue. Once the pipeline is closed the task is failed instead, also when
+         * it landed in the queue after close() had already drained it.
+         */
+        private void enqueue(Task task) throws InterruptedException {
+            while (!queue.offer(task, 100, TimeUnit.MILLISECONDS)) {
+                if (closed) { // nobody takes from the queue anymore
+                    failClosed(task);
+                    return;
+                }
+            }
+            if (closed && queue.remove(task)) {
+                failClosed(task);
+            }
+        }
+
+        private void failQueued() {
+            List<Task> pending = new ArrayList<>();
+            queue.drainTo(pending);
+            pending.forEach(ItemPipeline::failClosed);
+        }
+
+        private StageStats stats() {
+            return new StageStats(processor.name(), concurrency, queueCapacity, queue.size(), completed.sum(), failed.sum());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.model.Item;
+
+/**
+ * One stage of the item processing pipeline. Stages are Spring beans and run in @Order; each gets its own
+ * worker threads and input queue (item.pipeline.stages.&lt;name&gt;.*). A stage returns the item to pass on
+ * and throws to fail it, failed items are retried and finally dead-lettered by the caller.
+ * Implementations must be thread-safe, process is called from several workers at once.
+ */
+public interface ItemProcessor {
+
+    String name(); // used for configuration keys, metric tags and logs
+
+    Item process(Item item);
+}
@@ -0,0 +1,25 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ItemService;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sets the final status. Only the in-memory copy changes, the row is written with the rest of its chunk.
+ */
+@Component
+@Order(3)
+public class TransformationProcessor implements ItemProcessor {
+
+    @Override
+    public String name() {
+        return "transformation";
+    }
+
+    @Override
+    public Item process(Item item) {
+        item.setStatus(ItemService.PROCESSED);
+        return item;
+    }
+}
@@ -0,0 +1,27 @@
+package com.siemens.internship.pipeline;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.validation.EmailValidator;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejects items that would not pass the API validation, e.g. rows written before the email rule existed.
+ */
+@Component
+@Order(1)
+public class ValidationProcessor implements ItemProcessor {
+
+    @Override
+    public String name() {
+        return "validation";
+    }
+
+    @Override
+    public Item process(Item item) {
+        if (item.getEmail() != null && !EmailValidator.isValid(item.getEmail())) {
+            throw new IllegalArgumentException("Item " + item.getId() + " has an invalid email");
+        }
+        return item;
+    }
+}
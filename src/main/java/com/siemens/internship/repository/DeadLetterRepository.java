@@ -0,0 +1,12 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.DeadLetter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DeadLetterRepository extends JpaRepository<DeadLetter, Long> {
+
+    List<DeadLetter> findByItemIdGreaterThanOrderByItemIdAsc(Long itemId, Limit limit); // keyset pagination by item id
+}
@@ -0,0 +1,12 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.ItemHistory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ItemHistoryRepository extends JpaRepository<ItemHistory, Long> {
+
+    List<ItemHistory> findByItemIdAndIdGreaterThanOrderByIdAsc(Long itemId, Long id, Limit limit); // keyset page of one item
+}
@@ -1,7 +1,111 @@
 package com.siemens.internship.repository;
 
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemListVersion;
+import com.siemens.internship.model.ItemSummary;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+
+    List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit); // keyset pagination: next chunk after the given id
+
+    @Query("select new com.siemens.internship.model.ItemSummary(i.id, i.name, i.status) from Item i order by i.id")
+    List<ItemSummary> findAllSummaries(); // DTO projection: only the three listed columns are selected
+
+    // validator for the whole list: one aggregate over the table, no entities are loaded
+    @Query("select new com.siemens.internship.model.ItemListVersion(count(i), max(i.id), sum(i.version)) from Item i")
+    ItemListVersion findListVersion();
+
+    // server-side cursor for exports: rows are fetched from the driver 500 at a time, needs an open transaction
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select i from Item i order by i.id")
+    Stream<Item> streamAllOrderById();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select i from Item i where i.lastModified >= :since order by i.lastModified, i.id")
+    Stream<Item> streamChangedSince(@Param("since") Instant since); // range scan on idx_item_last_modified
+
+    // set-based status writes: one UPDATE statement instead of load + dirty-check + flush per entity,
+    // they bump the version and lastModified themselves (no entity callbacks run for bulk updates),
+    // so a concurrent PUT based on the old status gets a conflict and conditional GETs see the change
+    @Transactional
+    @Modifying(clearAutomatically = true) // managed copies in the persistence context would be stale otherwise
+    @Query("update Item i set i.status = :status, i.version = i.version + 1, i.lastModified = :now where i.id in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") String status, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Item i set i.status = :status, i.version = i.version + 1, i.lastModified = :now "
+            + "where i.id between :fromId and :toId")
+    int updateStatusByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("status") String status,
+                                @Param("now") Instant now);
+
+    // pending for both claim paths: not done, minus the items that failed for good and have not changed since
+    // (their dead letter is newer than their last modification); releaseForReprocessing drops the dead letters
+    String PENDING = "(i.status is null or i.status <> :done) "
+            + "and not exists (select d from DeadLetter d where d.itemId = i.id and d.failedAt >= i.lastModified)";
+
+    // queue-style claim: rows locked by another node are skipped instead of waited for
+    // (lock timeout -2 is Hibernate's SKIP LOCKED, dialects without it fall back to a plain FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select i from Item i where " + PENDING + " and (i.leaseUntil is null or i.leaseUntil < :now) order by i.id")
+    List<Item> findClaimable(@Param("done") String done, @Param("now") Instant now, Limit limit);
+
+    // incremental processing: pending items changed since a checkpoint
+    String PENDING_CHANGED_SINCE = PENDING + " and i.lastModified >= :since";
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select i from Item i where " + PENDING_CHANGED_SINCE
+            + " and (i.leaseUntil is null or i.leaseUntil < :now) order by i.lastModified, i.id")
+    List<Item> findClaimableChangedSince(@Param("done") String done, @Param("since") Instant since,
+                                         @Param("now") Instant now, Limit limit); // range scan on idx_item_last_modified
+
+    @Query("select min(i.lastModified) from Item i where " + PENDING_CHANGED_SINCE)
+    Instant findOldestPendingChangedSince(@Param("done") String done, @Param("since") Instant since); // leased ones included
+
+    @Query("select count(i) from Item i where i.status is null or i.status <> :done")
+    long countByStatusNot(@Param("done") String done); // null status counts as not done, unlike a derived query
+
+    @Query("select min(i.lastModified) from Item i where i.status is null or i.status <> :done")
+    Instant findOldestModifiedByStatusNot(@Param("done") String done); // null when nothing is pending
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Item i set i.leaseOwner = :owner, i.leaseUntil = :until where i.id in :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("until") Instant until);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i.id from Item i where i.id in :ids and i.leaseOwner = :owner")
+    List<Long> lockLeasedBy(@Param("ids") Collection<Long> ids, @Param("owner") String owner); // rows stay ours until commit
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Item i set i.status = :status, i.version = i.version + 1, i.lastModified = :now, "
+            + "i.leaseOwner = null, i.leaseUntil = null "
+            + "where i.id in :ids and i.leaseOwner = :owner")
+    int completeClaimed(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("status") String status,
+                        @Param("now") Instant now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Item i set i.leaseOwner = null, i.leaseUntil = null "
+            + "where i.id in (select d.itemId from DeadLetter d)")
+    int releaseDeadLettered(); // dead-lettered items become claimable right away instead of after their lease
 }
@@ -0,0 +1,56 @@
+package com.siemens.internship.service;
+
+/**
+ * Concurrency limit that follows latency (AIMD). A call slower than targetLatency, or failed, cuts the limit by
+ * backoffRatio; a fast call while at least half of the limit is in use raises it by one. Calls over the limit
+ * are refused instead of queued, so an overloaded endpoint sheds load before its latency runs away.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+
+    private double limit; // guarded by this
+    private int inFlight; // guarded by this
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Need 1 <= minLimit <= maxLimit and 0 < backoffRatio < 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Ends a call admitted by tryAcquire and adjusts the limit to how it went.
+     */
+    public synchronized void release(long latencyNanos, boolean success) {
+        inFlight--;
+        if (!success || latencyNanos > targetLatencyNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight * 2 >= limit) { // only grow a limit that is actually used
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,94 @@
+package com.siemens.internship.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Minimal consecutive-failure circuit breaker. CLOSED lets every call through; failureThreshold failures in a row
+ * switch it to OPEN, where calls fail immediately with OpenException; after openDuration one trial call is let
+ * through (HALF_OPEN) and its outcome closes or re-opens the circuit.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED; // guarded by this
+    private int consecutiveFailures; // guarded by this
+    private Instant openedAt; // guarded by this
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Clock clock) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    public <T> T call(Supplier<T> action) {
+        acquire();
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException ex) {
+            onFailure();
+            throw ex;
+        }
+        onSuccess();
+        return result;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private synchronized void acquire() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            state = State.HALF_OPEN; // this caller is the single trial call
+            return;
+        }
+        if (state != State.CLOSED) {
+            throw new OpenException(name);
+        }
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            log.info("Circuit {} closed", name);
+        }
+        state = State.CLOSED;
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("Circuit {} opened after {} consecutive failures", name, consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+    }
+
+    /**
+     * Thrown instead of calling the action while the circuit is open.
+     */
+    public static class OpenException extends RuntimeException {
+
+        public OpenException(String name) {
+            super("Circuit " + name + " is open");
+        }
+    }
+}
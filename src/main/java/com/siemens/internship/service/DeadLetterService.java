@@ -0,0 +1,65 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.DeadLetter;
+import com.siemens.internship.repository.DeadLetterRepository;
+import com.siemens.internship.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Keeps the ids and causes of items that failed processing for good, so they can be looked at and
+ * reprocessed without rescanning the whole table.
+ */
+@Slf4j
+@Service
+public class DeadLetterService {
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final ItemRepository itemRepository;
+    private final Clock clock = Clock.systemUTC();
+
+    public DeadLetterService(DeadLetterRepository deadLetterRepository, ItemRepository itemRepository) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.itemRepository = itemRepository;
+    }
+
+    @Transactional
+    public void record(Long itemId, Throwable cause) {
+        DeadLetter deadLetter = deadLetterRepository.findById(itemId)
+                .orElseGet(() -> new DeadLetter(itemId, null, 0, null));
+        deadLetter.setCause(describe(cause));
+        deadLetter.setFailures(deadLetter.getFailures() + 1);
+        deadLetter.setFailedAt(clock.instant());
+        deadLetterRepository.save(deadLetter);
+    }
+
+    public List<DeadLetter> findPage(Long after, int size) {
+        return deadLetterRepository.findByItemIdGreaterThanOrderByItemIdAsc(after == null ? Long.MIN_VALUE : after, Limit.of(size));
+    }
+
+    public long count() {
+        return deadLetterRepository.count();
+    }
+
+    /**
+     * Releases the leases of all dead-lettered items and clears the dead letters. The next processing run
+     * claims exactly those items (plus any new ones), items that fail again are recorded again.
+     */
+    @Transactional
+    public int releaseForReprocessing() {
+        int released = itemRepository.releaseDeadLettered();
+        deadLetterRepository.deleteAllInBatch();
+        log.info("Released {} dead-lettered items for reprocessing", released);
+        return released;
+    }
+
+    private static String describe(Throwable cause) {
+        String text = cause.getClass().getName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+        return text.length() > DeadLetter.MAX_CAUSE_LENGTH ? text.substring(0, DeadLetter.MAX_CAUSE_LENGTH) : text;
+    }
+}
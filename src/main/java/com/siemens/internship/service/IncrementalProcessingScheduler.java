@@ -0,0 +1,148 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.SchedulerProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ProcessingCheckpoint;
+import com.siemens.internship.repository.ProcessingCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Processes only the items created or changed since the last run, on a timer instead of on request.
+ * The checkpoint is the start of the last run, or the last_modified of the oldest item still pending
+ * (left over by the batch size or leased elsewhere) if that is older, so a tick reads a small range of
+ * idx_item_last_modified instead of the whole table, also after a restart, and never skips an item. Items still go
+ * through the lease-based claims, so a tick, a manual run and other nodes never process the same item.
+ * Items that fail are dead-lettered as in a manual run and are not retried by later ticks unless they change again.
+ * After every run the backlog (unprocessed items and the age of the oldest one) is published as gauges.
+ */
+@Slf4j
+@Component
+@Lazy(false) // the prod profile initializes beans lazily, which would never register the @Scheduled method
+public class IncrementalProcessingScheduler {
+
+    public static final String CHECKPOINT_NAME = "incremental-processing";
+
+    private static final Comparator<Item> BY_CHANGE = Comparator.comparing(Item::getLastModified).thenComparing(Item::getId);
+
+    private final ItemService itemService;
+    private final ItemClaimService itemClaimService;
+    private final ProcessingCheckpointRepository checkpointRepository;
+    private final SchedulerProperties properties;
+    private final ReentrantLock runLock = new ReentrantLock(); // local only: other nodes are kept apart by the leases
+    private final Clock clock = Clock.systemUTC();
+    private final Counter completedRuns;
+    private final Counter skippedRuns;
+    private final Counter failedRuns;
+    private volatile double backlogSize = Double.NaN; // NaN until the first run has measured it
+    private volatile double backlogAgeSeconds = Double.NaN;
+
+    public IncrementalProcessingScheduler(ItemService itemService, ItemClaimService itemClaimService,
+                                          ProcessingCheckpointRepository checkpointRepository,
+                                          SchedulerProperties properties, MeterRegistry meterRegistry) {
+        this.itemService = itemService;
+        this.itemClaimService = itemClaimService;
+        this.checkpointRepository = checkpointRepository;
+        this.properties = properties;
+        this.completedRuns = runCounter(meterRegistry, "completed");
+        this.skippedRuns = runCounter(meterRegistry, "skipped");
+        this.failedRuns = runCounter(meterRegistry, "failed");
+        Gauge.builder("item.processing.backlog.size", this, s -> s.backlogSize)
+                .description("Unprocessed items, measured after every scheduled run")
+                .register(meterRegistry);
+        Gauge.builder("item.processing.backlog.age", this, s -> s.backlogAgeSeconds)
+                .description("Time since the oldest unprocessed item was modified, 0 when nothing is pending")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${item.scheduler.interval}", initialDelayString = "${item.scheduler.initial-delay}")
+    public void tick() {
+        try {
+            runOnce();
+        } catch (RuntimeException ex) { // keep the schedule alive, the next tick starts from the same checkpoint
+            log.error("Scheduled processing run failed", ex);
+        }
+    }
+
+    /**
+     * Processes up to item.scheduler.batch-size changed items and moves the checkpoint up to the oldest item
+     * that is still pending.
+     * Returns empty without doing anything if a run is already going on in this application.
+     */
+    public Optional<ItemBatchProcessor.Result> runOnce() {
+        if (!runLock.tryLock()) {
+            skippedRuns.increment();
+            log.debug("Skipping scheduled processing, the previous run is still going");
+            return Optional.empty();
+        }
+        try {
+            ProcessingCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                    .orElseGet(() -> new ProcessingCheckpoint(CHECKPOINT_NAME, Instant.EPOCH, null, null));
+            Instant since = checkpoint.getHighWaterMark().minus(properties.getSafetyMargin());
+            Instant runStart = clock.instant(); // completed items get a later last_modified, so they are scanned at most once more
+            AtomicReference<Item> newest = new AtomicReference<>(); // chunks complete on different threads
+            ItemBatchProcessor.Result result = itemService.processChangedSince(since, properties.getBatchSize(),
+                    chunk -> chunk.forEach(item -> advance(newest, item)));
+            // items beyond the batch size or leased by another run or node are still pending and hold the checkpoint back
+            Instant next = itemClaimService.oldestPendingChangedSince(ItemService.PROCESSED, since)
+                    .filter(oldest -> oldest.isBefore(runStart))
+                    .orElse(runStart);
+            if (next.isAfter(checkpoint.getHighWaterMark())) {
+                checkpoint.setHighWaterMark(next);
+                if (newest.get() != null) {
+                    checkpoint.setLastItemId(newest.get().getId());
+                }
+                checkpoint.setUpdatedAt(clock.instant());
+                checkpointRepository.save(checkpoint);
+            }
+            completedRuns.increment();
+            log.info("Scheduled processing: {} items processed, {} failed, checkpoint at {}",
+                    result.processed(), result.failed(), checkpoint.getHighWaterMark());
+            return Optional.of(result);
+        } catch (RuntimeException ex) {
+            failedRuns.increment();
+            throw ex;
+        } finally {
+            try {
+                measureBacklog();
+            } finally {
+                runLock.unlock();
+            }
+        }
+    }
+
+    private void measureBacklog() {
+        Instant now = clock.instant();
+        backlogSize = itemClaimService.countPending(ItemService.PROCESSED);
+        backlogAgeSeconds = itemClaimService.oldestPendingModified(ItemService.PROCESSED)
+                .map(oldest -> Math.max(Duration.between(oldest, now).toMillis(), 0) / 1000.0)
+                .orElse(0.0);
+    }
+
+    private static void advance(AtomicReference<Item> newest, Item item) {
+        if (item.getLastModified() != null) { // claimed by last_modified >= since, so never null in practice
+            newest.accumulateAndGet(item, (a, b) -> a == null || BY_CHANGE.compare(b, a) > 0 ? b : a);
+        }
+    }
+
+    private static Counter runCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("item.scheduler.runs")
+                .description("Scheduled processing runs")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
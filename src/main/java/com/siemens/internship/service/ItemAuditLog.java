@@ -0,0 +1,270 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.AuditProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemChangeEvent;
+import com.siemens.internship.model.ItemHistory;
+import com.siemens.internship.model.ItemWriteEvent;
+import com.siemens.internship.repository.ItemHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * History of item changes, written off the request path. Every committed ItemWriteEvent goes to record*, which only
+ * puts an entry on a bounded lock-free queue; a background writer inserts the entries into item_history in JDBC
+ * batches, as soon as a batch is full or after item.audit.flush-interval. When the queue is full the caller
+ * waits (BLOCK) or the change is dropped and counted (DROP). History is therefore readable up to one flush
+ * interval after the change.
+ */
+@Slf4j
+@Component
+public class ItemAuditLog implements AutoCloseable {
+
+    private static final String INSERT = "INSERT INTO item_history (item_id, action, name, description, status, email, version, changed_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    // a range update never loads its items, so the writer expands the range with one INSERT ... SELECT
+    private static final String INSERT_RANGE = "INSERT INTO item_history (item_id, action, status, changed_at)"
+            + " SELECT id, ?, ?, ? FROM item WHERE id BETWEEN ? AND ?";
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // itemIds is set for a bulk status change: one queue slot, expanded into one row per id by the writer
+    private record Entry(Long itemId, Long toItemId, ItemChangeEvent.Type action, String name, String description,
+                         String status, String email, Long version, Instant changedAt, List<Long> itemIds) {
+    }
+
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger(); // the bound; ConcurrentLinkedQueue.size() is O(n)
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemHistoryRepository historyRepository;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditProperties.OverflowPolicy overflowPolicy;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Clock clock = Clock.systemUTC();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public ItemAuditLog(JdbcTemplate jdbcTemplate, ItemHistoryRepository historyRepository, AuditProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.historyRepository = historyRepository;
+        this.enabled = properties.isEnabled();
+        this.capacity = properties.getQueueCapacity();
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.written = Counter.builder("item.audit.written").description("History rows written").register(meterRegistry);
+        this.dropped = Counter.builder("item.audit.dropped").description("Changes not recorded because the queue was full").register(meterRegistry);
+        this.failed = Counter.builder("item.audit.failed").description("History rows lost to failed batch writes").register(meterRegistry);
+        Gauge.builder("item.audit.queued", queued, AtomicInteger::get)
+                .description("Changes waiting to be written")
+                .register(meterRegistry);
+        this.writer = new Thread(this::write, "item-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ItemWriteEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED -> recordCreated(event.items());
+            case UPDATED -> event.items().forEach(this::recordUpdated);
+            case DELETED -> event.ids().forEach(this::recordDeleted);
+            case STATUS_CHANGED -> {
+                if (event.isRange()) {
+                    recordStatusChangedInRange(event.fromId(), event.toId(), event.status());
+                } else {
+                    recordStatusChanged(event.ids(), event.status());
+                }
+            }
+        }
+    }
+
+    public void recordCreated(Item item) {
+        enqueue(snapshot(ItemChangeEvent.Type.CREATED, item));
+    }
+
+    public void recordCreated(Collection<Item> items) {
+        items.forEach(this::recordCreated);
+    }
+
+    public void recordUpdated(Item item) {
+        enqueue(snapshot(ItemChangeEvent.Type.UPDATED, item));
+    }
+
+    public void recordDeleted(Long id) {
+        enqueue(new Entry(id, null, ItemChangeEvent.Type.DELETED, null, null, null, null, null, clock.instant(), null));
+    }
+
+    public void recordStatusChanged(Collection<Long> ids, String status) {
+        if (!ids.isEmpty()) { // a processed chunk is one entry, not one per item that may each wait for room
+            enqueue(new Entry(null, null, ItemChangeEvent.Type.STATUS_CHANGED, null, null, status, null, null, clock.instant(),
+                    List.copyOf(ids)));
+        }
+    }
+
+    public void recordStatusChangedInRange(Long fromId, Long toId, String status) {
+        enqueue(new Entry(fromId, toId, ItemChangeEvent.Type.STATUS_CHANGED, null, null, status, null, null, clock.instant(), null));
+    }
+
+    public List<ItemHistory> findHistory(Long itemId, Long after, int size) {
+        return historyRepository.findByItemIdAndIdGreaterThanOrderByIdAsc(itemId, after == null ? Long.MIN_VALUE : after, Limit.of(size));
+    }
+
+    /**
+     * Writes everything queued so far on the calling thread. Used on shutdown and by tests.
+     */
+    public synchronized void flush() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(entry);
+            if (batch.size() == batchSize) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Entry snapshot(ItemChangeEvent.Type action, Item item) {
+        return new Entry(item.getId(), null, action, item.getName(), item.getDescription(), item.getStatus(),
+                item.getEmail(), item.getVersion(), clock.instant(), null);
+    }
+
+    private void enqueue(Entry entry) {
+        int size;
+        while (true) {
+            size = queued.get();
+            if (size < capacity) {
+                if (queued.compareAndSet(size, size + 1)) {
+                    break;
+                }
+            } else if (overflowPolicy == AuditProperties.OverflowPolicy.DROP || closed) {
+                dropped.increment();
+                return;
+            } else {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(BLOCKED_PARK_NANOS); // the writer is behind, wait for it to make room
+            }
+        }
+        queue.offer(entry);
+        if (size + 1 >= batchSize) {
+            LockSupport.unpark(writer); // a full batch is written without waiting for the interval
+        }
+    }
+
+    private void write() {
+        while (!closed) {
+            if (queued.get() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+            try {
+                flush();
+            } catch (RuntimeException ex) {
+                log.error("Item history writer failed", ex); // keep the writer alive, the next flush tries again
+            }
+        }
+        flush(); // whatever was queued before shutdown
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        List<Entry> rows = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            if (entry.itemIds() != null) {
+                entry.itemIds().forEach(id -> rows.add(new Entry(id, null, entry.action(), null, null, entry.status(), null,
+                        null, entry.changedAt(), null)));
+                continue;
+            }
+            if (entry.toItemId() == null) {
+                rows.add(entry);
+                continue;
+            }
+            writeRows(rows); // keeps the insert order equal to the order of the changes
+            rows.clear();
+            writeRange(entry);
+        }
+        writeRows(rows);
+    }
+
+    private void writeRows(List<Entry> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT, rows, batchSize, this::bind); // bulk entries can make this more than one batch
+            written.increment(rows.size());
+        } catch (RuntimeException ex) {
+            failed.increment(rows.size());
+            log.error("Could not write {} item history rows", rows.size(), ex);
+        }
+    }
+
+    private void writeRange(Entry entry) {
+        try {
+            int rows = jdbcTemplate.update(INSERT_RANGE, entry.action().name(), entry.status(),
+                    entry.changedAt().atOffset(ZoneOffset.UTC), entry.itemId(), entry.toItemId());
+            written.increment(rows);
+        } catch (RuntimeException ex) {
+            failed.increment();
+            log.error("Could not write item history of range {}-{}", entry.itemId(), entry.toItemId(), ex);
+        }
+    }
+
+    private void bind(PreparedStatement statement, Entry entry) throws SQLException {
+        statement.setLong(1, entry.itemId());
+        statement.setString(2, entry.action().name());
+        statement.setString(3, entry.name());
+        statement.setString(4, entry.description());
+        statement.setString(5, entry.status());
+        statement.setString(6, entry.email());
+        if (entry.version() != null) {
+            statement.setLong(7, entry.version());
+        } else {
+            statement.setNull(7, Types.BIGINT);
+        }
+        statement.setObject(8, entry.changedAt().atOffset(ZoneOffset.UTC));
+    }
+}
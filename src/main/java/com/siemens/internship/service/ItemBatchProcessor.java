@@ -0,0 +1,187 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Streams the item table in keyset-paginated chunks (ordered by id, or from any other ChunkSource) and
+ * processes them with a fixed number of chunks in flight. Heap usage is bounded by
+ * chunkSize * maxChunksInFlight, no matter how many rows the table has.
+ */
+@Slf4j
+public class ItemBatchProcessor {
+
+    private final ChunkSource chunkSource;
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+
+    public ItemBatchProcessor(ItemRepository itemRepository, Executor executor, int chunkSize, int maxChunksInFlight) {
+        this((lastId, size) -> itemRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(size)),
+                executor, chunkSize, maxChunksInFlight);
+    }
+
+    public ItemBatchProcessor(ChunkSource chunkSource, Executor executor, int chunkSize, int maxChunksInFlight) {
+        if (chunkSize < 1 || maxChunksInFlight < 1) {
+            throw new IllegalArgumentException("chunkSize and maxChunksInFlight must be positive");
+        }
+        this.chunkSource = chunkSource;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
+    /**
+     * A processor with the same executor and limits that reads its chunks from chunkSource.
+     */
+    public ItemBatchProcessor withChunkSource(ChunkSource chunkSource) {
+        return new ItemBatchProcessor(chunkSource, executor, chunkSize, maxChunksInFlight);
+    }
+
+    /**
+     * Runs itemTask on every item, hands the successful items of each chunk to chunkWriter (one batched
+     * write per chunk) and then to chunkListener. Blocks the calling thread until every chunk is done.
+     */
+    public Result process(UnaryOperator<Item> itemTask, Consumer<List<Item>> chunkWriter, ChunkListener chunkListener) {
+        return processAsync(item -> CompletableFuture.supplyAsync(() -> itemTask.apply(item), executor), chunk -> {
+            chunkWriter.accept(chunk);
+            return chunk;
+        }, chunkListener);
+    }
+
+    /**
+     * Same as process, for item tasks that run somewhere else (e.g. a staged pipeline) and complete a future.
+     * The task may block the reader to apply backpressure; chunk writes still run on the executor.
+     */
+    public Result processAsync(Function<Item, CompletionStage<Item>> itemTask, ChunkWriter chunkWriter,
+                               ChunkListener chunkListener) {
+        Semaphore inFlight = new Semaphore(maxChunksInFlight); // backpressure: the reader waits when too many chunks are pending
+        AtomicLong processed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        long lastId = Long.MIN_VALUE;
+        try {
+            while (true) {
+                inFlight.acquire(); // acquire before reading so at most maxChunksInFlight chunks are in memory
+                List<Item> chunk = chunkSource.next(lastId, chunkSize);
+                if (chunk.isEmpty()) {
+                    inFlight.release();
+                    break;
+                }
+                lastId = chunk.get(chunk.size() - 1).getId();
+
+                processChunk(chunk, itemTask, chunkWriter, chunkListener, processed, failed)
+                        .whenComplete((v, ex) -> inFlight.release());
+
+                if (chunk.size() < chunkSize) { // short chunk -> this was the last one
+                    break;
+                }
+            }
+            inFlight.acquire(maxChunksInFlight); // wait until every pending chunk released its permit
+            inFlight.release(maxChunksInFlight);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing items", ie);
+        }
+        return new Result(processed.get(), failed.get());
+    }
+
+    private CompletableFuture<Void> processChunk(List<Item> chunk, Function<Item, CompletionStage<Item>> itemTask,
+                                                 ChunkWriter chunkWriter, ChunkListener chunkListener,
+                                                 AtomicLong processed, AtomicLong failed) {
+        List<CompletableFuture<Item>> futures = chunk.stream()
+                .map(item -> itemTask.apply(item).toCompletableFuture()
+                        .handle((result, ex) -> {
+                            if (ex != null) {
+                                Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                                log.error("Failed to process item {}", item.getId(), cause);
+                                failed.incrementAndGet();
+                                chunkListener.onFailure(item, cause);
+                                return null;
+                            }
+                            return result;
+                        }))
+                .toList();
+
+        // no thread blocks while the items run: the write is chained on the completion of the whole chunk
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenRunAsync(() -> {
+                    List<Item> done = futures.stream()
+                            .map(CompletableFuture::join)
+                            .filter(Objects::nonNull)
+                            .toList();
+                    if (done.isEmpty()) {
+                        return;
+                    }
+                    List<Item> written;
+                    try {
+                        written = chunkWriter.write(done);
+                    } catch (RuntimeException ex) {
+                        log.error("Failed to write chunk of {} items starting at id {}", done.size(), done.get(0).getId(), ex);
+                        failed.addAndGet(done.size());
+                        done.forEach(item -> chunkListener.onFailure(item, ex));
+                        return;
+                    }
+                    if (written.size() < done.size()) { // neither processed nor failed: someone else owns those items now
+                        log.warn("{} of {} items in the chunk starting at id {} were not written", done.size() - written.size(),
+                                done.size(), done.get(0).getId());
+                    }
+                    processed.addAndGet(written.size());
+                    if (!written.isEmpty()) {
+                        chunkListener.onSuccess(written);
+                    }
+                }, executor);
+    }
+
+    /**
+     * Supplies the next chunk of at most size items; lastId is the highest id of the previous chunk
+     * (Long.MIN_VALUE at the start). An empty or short chunk ends the run.
+     */
+    @FunctionalInterface
+    public interface ChunkSource {
+
+        List<Item> next(long lastId, int size);
+    }
+
+    /**
+     * Writes the processed items of one chunk and returns the ones it actually wrote, e.g. without the items
+     * whose claim was taken over by another node in the meantime.
+     */
+    @FunctionalInterface
+    public interface ChunkWriter {
+
+        List<Item> write(List<Item> chunk);
+    }
+
+    /**
+     * Receives the outcome of every chunk as soon as it is known, e.g. to report progress while the run is going.
+     */
+    @FunctionalInterface
+    public interface ChunkListener {
+
+        void onSuccess(List<Item> chunk);
+
+        default void onFailure(Item item, Throwable cause) { // the item task or the chunk write failed for this item
+        }
+    }
+
+    /**
+     * Totals of a processing run.
+     */
+    public record Result(long processed, long failed) {
+    }
+}
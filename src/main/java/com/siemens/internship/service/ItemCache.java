@@ -0,0 +1,79 @@
+package com.siemens.internship.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemWriteEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of items by id. Entries are updated or evicted on every ItemWriteEvent, once the write is
+ * committed, so the cache never serves a value older than the last write that went through ItemService.
+ * Missing ids are not cached. A disabled cache simply calls the loader every time.
+ */
+public class ItemCache {
+
+    private final Cache<Long, Item> cache; // null when caching is disabled
+
+    public ItemCache(Cache<Long, Item> cache) {
+        this.cache = cache;
+    }
+
+    public static ItemCache disabled() {
+        return new ItemCache(null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ItemWriteEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                if (event.items().size() == 1) { // bulk loads are not pushed into the cache ahead of any read
+                    put(event.items().get(0));
+                }
+            }
+            case DELETED -> evictAll(event.ids());
+            case STATUS_CHANGED -> { // the UPDATE bypasses the entities, so cached copies are dropped
+                if (event.isRange()) {
+                    evictRange(event.fromId(), event.toId());
+                } else {
+                    evictAll(event.ids());
+                }
+            }
+        }
+    }
+
+    public Optional<Item> get(Long id, Function<Long, Optional<Item>> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+        // loading happens inside the cache's per-key lock, so a concurrent evict cannot be overwritten by a stale load
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void put(Item item) {
+        if (cache != null && item.getId() != null) {
+            cache.put(item.getId(), item);
+        }
+    }
+
+    public void evict(Long id) {
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        if (cache != null) {
+            cache.invalidateAll(ids);
+        }
+    }
+
+    public void evictRange(Long fromId, Long toId) {
+        if (cache != null) {
+            cache.asMap().keySet().removeIf(id -> id >= fromId && id <= toId);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ChangeFeedProperties;
+import com.siemens.internship.config.ExecutorConfig;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemChangeEvent;
+import com.siemens.internship.model.ItemWriteEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Ordered log of the committed item changes made through ItemService (ItemWriteEvent), kept in a bounded ring buffer so subscribers can resume
+ * from the last offset they saw. Status changes (processing chunks, bulk updates) are collected for a short
+ * window and published as one event per status; any other change flushes them first, so the order of changes
+ * to an item is kept. A dispatcher thread hands new events to the subscribers, each one delivered on the
+ * delivery executor with at most one delivery in flight, so writers never wait on subscribers and a slow client
+ * only holds up itself. A client that stays busy until its offset falls out of the buffer is closed.
+ */
+@Slf4j
+@Component
+public class ItemChangeFeed implements AutoCloseable {
+
+    private static final int MAX_EVENTS_PER_DELIVERY = 100;
+
+    /**
+     * Receives the events of one subscription on a delivery thread, never concurrently.
+     */
+    public interface Subscriber {
+
+        void onEvents(List<ItemChangeEvent> events) throws Exception; // throwing ends the subscription
+
+        void onClose(Exception cause); // fell out of the buffer, delivery failed or the feed shut down
+    }
+
+    /**
+     * The requested offset is older than the oldest event still buffered, or newer than the latest one
+     * (e.g. a Last-Event-ID from before a restart, which starts the offsets again at 1).
+     */
+    public static class OffsetExpiredException extends RuntimeException {
+
+        public OffsetExpiredException(String message) {
+            super(message);
+        }
+    }
+
+    private final ItemChangeEvent[] ring;
+    private long nextOffset = 1; // offsets start at 1, so 0 means "everything still buffered"
+    private final Map<String, Set<Long>> pendingStatusChanges = new LinkedHashMap<>(); // status -> ids, not published yet
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final long coalesceWindowMillis;
+    private final int maxIdsPerEvent;
+    private final Counter published;
+    private final Clock clock = Clock.systemUTC();
+    private final Thread dispatcher;
+    private final Executor deliveryExecutor;
+    private volatile boolean closed;
+
+    public ItemChangeFeed(ChangeFeedProperties properties, MeterRegistry meterRegistry,
+                          @Qualifier(ExecutorConfig.ITEM_CHANGE_FEED_EXECUTOR) Executor deliveryExecutor) {
+        this.deliveryExecutor = deliveryExecutor;
+        this.ring = new ItemChangeEvent[properties.getBufferSize()];
+        this.coalesceWindowMillis = Math.max(1, properties.getCoalesceWindow().toMillis());
+        this.maxIdsPerEvent = properties.getMaxIdsPerEvent();
+        this.published = Counter.builder("item.changes.published").description("Events added to the change feed").register(meterRegistry);
+        Gauge.builder("item.changes.subscribers", subscriptions, List::size)
+                .description("Open change feed subscriptions")
+                .register(meterRegistry);
+        this.dispatcher = new Thread(this::dispatch, "item-change-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ItemWriteEvent event) {
+        switch (event.type()) {
+            case CREATED -> {
+                if (event.items().size() == 1) {
+                    created(event.items().get(0));
+                } else {
+                    created(event.items());
+                }
+            }
+            case UPDATED -> event.items().forEach(this::updated);
+            case DELETED -> event.ids().forEach(this::deleted);
+            case STATUS_CHANGED -> {
+                if (event.isRange()) {
+                    statusChangedInRange(event.fromId(), event.toId(), event.status());
+                } else {
+                    statusChanged(event.ids(), event.status()); // coalesced, one event per window instead of one per chunk
+                }
+            }
+        }
+    }
+
+    public synchronized void created(Item item) {
+        append(ItemChangeEvent.Type.CREATED, List.of(item.getId()), null, null, null, item);
+    }
+
+    public synchronized void created(Collection<Item> items) {
+        List<Long> ids = items.stream().map(Item::getId).toList();
+        for (int from = 0; from < ids.size(); from += maxIdsPerEvent) {
+            append(ItemChangeEvent.Type.CREATED, ids.subList(from, Math.min(ids.size(), from + maxIdsPerEvent)),
+                    null, null, null, null);
+        }
+    }
+
+    public synchronized void updated(Item item) {
+        append(ItemChangeEvent.Type.UPDATED, List.of(item.getId()), null, null, item.getStatus(), item);
+    }
+
+    public synchronized void deleted(Long id) {
+        append(ItemChangeEvent.Type.DELETED, List.of(id), null, null, null, null);
+    }
+
+    /**
+     * Coalesced: the ids are published with the other status changes of the current window.
+     */
+    public synchronized void statusChanged(Collection<Long> ids, String status) {
+        Set<Long> pending = pendingStatusChanges.computeIfAbsent(status, s -> new LinkedHashSet<>());
+        pending.addAll(ids);
+        if (pending.size() >= maxIdsPerEvent) {
+            flushPending();
+        }
+    }
+
+    public synchronized void statusChangedInRange(Long fromId, Long toId, String status) {
+        append(ItemChangeEvent.Type.STATUS_CHANGED, null, fromId, toId, status, null);
+    }
+
+    public synchronized long latestOffset() {
+        return nextOffset - 1;
+    }
+
+    /**
+     * Up to max buffered events with an offset greater than after, oldest first.
+     */
+    public synchronized List<ItemChangeEvent> since(long after, int max) {
+        long oldest = Math.max(1, nextOffset - ring.length);
+        if (after < oldest - 1) {
+            throw new OffsetExpiredException("Offset " + after + " is no longer available, the oldest buffered event is " + oldest);
+        }
+        if (after > nextOffset - 1) { // waiting for it would silently skip every event up to that offset
+            throw new OffsetExpiredException("Offset " + after + " is ahead of the latest event " + (nextOffset - 1));
+        }
+        List<ItemChangeEvent> events = new ArrayList<>();
+        for (long offset = after + 1; offset < nextOffset && events.size() < max; offset++) {
+            events.add(ring[(int) (offset % ring.length)]);
+        }
+        return events;
+    }
+
+    /**
+     * Starts delivering the events after the given offset. Throws OffsetExpiredException right away if they are
+     * no longer buffered or the offset was never handed out, the caller then has to resync from the full list.
+     */
+    public Subscription subscribe(long after, Subscriber subscriber) {
+        since(after, 0); // fails fast on an expired offset
+        Subscription subscription = new Subscription(after, subscriber);
+        subscriptions.add(subscription);
+        synchronized (this) {
+            notifyAll(); // deliver the backlog without waiting for the next change
+        }
+        return subscription;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        subscriptions.forEach(subscription -> subscription.close(null));
+    }
+
+    private void append(ItemChangeEvent.Type type, List<Long> ids, Long fromId, Long toId, String status, Item item) {
+        flushPending(); // earlier status changes go out before this event
+        add(type, ids, fromId, toId, status, item);
+        notifyAll();
+    }
+
+    private void flushPending() {
+        pendingStatusChanges.forEach((status, ids) -> {
+            List<Long> all = List.copyOf(ids);
+            for (int from = 0; from < all.size(); from += maxIdsPerEvent) {
+                add(ItemChangeEvent.Type.STATUS_CHANGED, all.subList(from, Math.min(all.size(), from + maxIdsPerEvent)),
+                        null, null, status, null);
+            }
+        });
+        pendingStatusChanges.clear();
+    }
+
+    private void add(ItemChangeEvent.Type type, List<Long> ids, Long fromId, Long toId, String status, Item item) {
+        long offset = nextOffset++;
+        ring[(int) (offset % ring.length)] = new ItemChangeEvent(offset, type, ids, fromId, toId, status, item, clock.instant());
+        published.increment();
+    }
+
+    private void dispatch() {
+        while (!closed) {
+            synchronized (this) {
+                try {
+                    wait(coalesceWindowMillis); // woken early by every non-coalesced change
+                } catch (InterruptedException ie) {
+                    return; // close()
+                }
+                if (!pendingStatusChanges.isEmpty()) {
+                    flushPending();
+                }
+            }
+            subscriptions.forEach(Subscription::schedule);
+        }
+    }
+
+    /**
+     * Position of one subscriber in the feed.
+     */
+    public final class Subscription {
+
+        private final Subscriber subscriber;
+        private final AtomicBoolean delivering = new AtomicBoolean(); // a busy subscriber is skipped by the dispatcher
+        private volatile long offset;
+
+        private Subscription(long offset, Subscriber subscriber) {
+            this.offset = offset;
+            this.subscriber = subscriber;
+        }
+
+        public void cancel() {
+            subscriptions.remove(this);
+        }
+
+        private void schedule() {
+            if (offset >= latestOffset() || !delivering.compareAndSet(false, true)) {
+                return; // up to date, or still sending the previous events: picked up again on the next round
+            }
+            try {
+                deliveryExecutor.execute(this::deliver);
+            } catch (RejectedExecutionException ex) { // every delivery thread is busy, retried on the next round
+                delivering.set(false);
+            }
+        }
+
+        private void deliver() {
+            try {
+                List<ItemChangeEvent> events;
+                while (!closed && !(events = since(offset, MAX_EVENTS_PER_DELIVERY)).isEmpty()) {
+                    subscriber.onEvents(events);
+                    offset = events.get(events.size() - 1).offset();
+                }
+            } catch (Exception ex) {
+                log.debug("Closing change feed subscription at offset {}", offset, ex);
+                close(ex); // a client this slow would only fall further behind, it resumes from its Last-Event-ID
+            } finally {
+                delivering.set(false);
+            }
+        }
+
+        private void close(Exception cause) {
+            cancel();
+            subscriber.onClose(cause);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Hands out unprocessed items to this node with a time-limited lease, so several application instances
+ * can work through the same backlog without processing an item twice. A node that dies keeps its items
+ * only until the lease expires.
+ */
+@Service
+public class ItemClaimService {
+
+    private final ItemRepository itemRepository;
+    private final String nodeId;
+    private final Duration leaseDuration;
+    private final Clock clock = Clock.systemUTC();
+
+    public ItemClaimService(ItemRepository itemRepository, ProcessingProperties processingProperties) {
+        this.itemRepository = itemRepository;
+        this.nodeId = processingProperties.getNodeId() != null ? processingProperties.getNodeId() : UUID.randomUUID().toString();
+        this.leaseDuration = processingProperties.getLeaseDuration();
+    }
+
+    /**
+     * Claims up to limit items whose status is not doneStatus and that are not leased by anyone.
+     * The row locks only live for this short transaction, the lease keeps other nodes away afterwards.
+     */
+    @Transactional
+    public List<Item> claim(String doneStatus, int limit) {
+        Instant now = clock.instant();
+        return lease(itemRepository.findClaimable(doneStatus, now, Limit.of(limit)), now);
+    }
+
+    /**
+     * Same as claim, restricted to items modified at or after since and handed out oldest change first.
+     */
+    @Transactional
+    public List<Item> claimChangedSince(String doneStatus, Instant since, int limit) {
+        Instant now = clock.instant();
+        return lease(itemRepository.findClaimableChangedSince(doneStatus, since, now, Limit.of(limit)), now);
+    }
+
+    /**
+     * Sets the final status and releases the lease, only for items this node still holds, and returns their ids.
+     * Items whose lease expired and was taken over by another node are left alone (lost claims).
+     * The completed rows get now as last_modified and their version bumped by one.
+     */
+    @Transactional
+    public List<Long> complete(Collection<Long> ids, String status, Instant now) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> held = itemRepository.lockLeasedBy(ids, nodeId); // the update below then changes exactly these rows
+        if (!held.isEmpty()) {
+            itemRepository.completeClaimed(held, nodeId, status, now);
+        }
+        return held;
+    }
+
+    public long countPending(String doneStatus) {
+        return itemRepository.countByStatusNot(doneStatus);
+    }
+
+    public Optional<Instant> oldestPendingModified(String doneStatus) {
+        return Optional.ofNullable(itemRepository.findOldestModifiedByStatusNot(doneStatus));
+    }
+
+    /**
+     * Oldest last modification of the items claimChangedSince would still hand out from since, counting the
+     * ones currently leased by any node.
+     */
+    public Optional<Instant> oldestPendingChangedSince(String doneStatus, Instant since) {
+        return Optional.ofNullable(itemRepository.findOldestPendingChangedSince(doneStatus, since));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private List<Item> lease(List<Item> items, Instant now) {
+        if (!items.isEmpty()) {
+            itemRepository.lease(items.stream().map(Item::getId).toList(), nodeId, now.plus(leaseDuration));
+        }
+        return items;
+    }
+}
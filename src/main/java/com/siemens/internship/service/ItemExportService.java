@@ -0,0 +1,49 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Full-table export in constant memory: items are read through a JDBC cursor and detached as soon as
+ * they are handed to the consumer, so the persistence context never grows with the table.
+ */
+@Service
+public class ItemExportService {
+
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+
+    public ItemExportService(ItemRepository itemRepository, EntityManager entityManager) {
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true) // the stream is backed by an open result set, so it has to run inside a transaction
+    public long streamAll(Consumer<Item> consumer) {
+        return drain(itemRepository.streamAllOrderById(), consumer);
+    }
+
+    @Transactional(readOnly = true)
+    public long streamChangedSince(Instant since, Consumer<Item> consumer) { // oldest change first
+        return drain(itemRepository.streamChangedSince(since), consumer);
+    }
+
+    private long drain(Stream<Item> stream, Consumer<Item> consumer) {
+        long count = 0;
+        try (Stream<Item> items = stream) {
+            for (Item item : (Iterable<Item>) items::iterator) {
+                consumer.accept(item);
+                entityManager.detach(item);
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,12 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) listing. nextCursor is passed back as "after" to get the next page,
+ * it is null on the last page.
+ */
+public record ItemPage(List<Item> items, Long nextCursor) {
+}
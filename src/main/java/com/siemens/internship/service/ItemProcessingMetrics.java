@@ -0,0 +1,67 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the processing pipeline: processed/failed/retried counters, a gauge of the item tasks currently
+ * running and one observation per item and pipeline stage. The observation is recorded as the item.process
+ * timer tagged with the stage and, with the tracing bridge on the classpath, as a span tagged with the item id.
+ */
+@Component
+public class ItemProcessingMetrics {
+
+    private final ObservationRegistry observationRegistry;
+    private final Counter processed;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter lostClaims;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ItemProcessingMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.processed = Counter.builder("item.processing.processed").description("Items marked as processed").register(meterRegistry);
+        this.failed = Counter.builder("item.processing.failed").description("Items that failed after all retries").register(meterRegistry);
+        this.retried = Counter.builder("item.processing.retried").description("Retry attempts of item tasks and chunk writes").register(meterRegistry);
+        this.lostClaims = Counter.builder("item.processing.lost.claims").description("Processed items whose lease another node had taken over").register(meterRegistry);
+        Gauge.builder("item.processing.in.flight", inFlight, AtomicInteger::get)
+                .description("Item tasks currently running")
+                .register(meterRegistry);
+    }
+
+    public <T> T observeStage(String stage, Item item, Supplier<T> task) {
+        inFlight.incrementAndGet();
+        try {
+            return Observation.createNotStarted("item.process", observationRegistry)
+                    .lowCardinalityKeyValue("stage", stage)
+                    .highCardinalityKeyValue("item.id", String.valueOf(item.getId())) // span tag only, not a metric tag
+                    .observe(task);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public void processed(int count) {
+        processed.increment(count);
+    }
+
+    public void failed() {
+        failed.increment();
+    }
+
+    public void retried() {
+        retried.increment();
+    }
+
+    public void lostClaims(int count) {
+        lostClaims.increment(count);
+    }
+}
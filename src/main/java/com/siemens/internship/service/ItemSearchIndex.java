@@ -0,0 +1,299 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.SearchProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemWriteEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index over the items of this node: word -> ids for name and description, plus ids by
+ * status and by email domain. Posting sets are sorted by id, so a search walks the most selective one from the
+ * cursor on and stops after one page; the cost depends on the page size, not on the table size.
+ * Every committed ItemWriteEvent of this node is applied to it. Writes made past ItemService (other
+ * nodes, SQL) are picked up by a resync of the items changed since the last one, deletes by the periodic full
+ * rebuild (until then search simply finds no row for them). Writes are serialized, searches never lock.
+ */
+@Slf4j
+@Component
+@Lazy(false) // the prod profile initializes beans lazily, which would never register the @Scheduled methods
+public class ItemSearchIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private record Document(Set<String> words, String status, String domain, long version) {
+    }
+
+    private final ItemExportService itemExportService;
+    private final SearchProperties properties;
+    private final Clock clock = Clock.systemUTC();
+    private final ReentrantLock maintenanceLock = new ReentrantLock(); // one resync or rebuild at a time
+    private volatile Postings postings = new Postings();
+    private Postings rebuilding; // guarded by this: the generation rebuild() is filling, it gets every write as well
+    private volatile Instant lastSync; // null until the first rebuild
+
+    public ItemSearchIndex(ItemExportService itemExportService, SearchProperties properties) {
+        this.itemExportService = itemExportService;
+        this.properties = properties;
+    }
+
+    /**
+     * Reads the whole table into a new generation and swaps it in, searches keep using the old one meanwhile.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${item.search.rebuild-interval}", initialDelayString = "${item.search.rebuild-interval}")
+    public void rebuild() {
+        maintenanceLock.lock();
+        try {
+            Instant start = clock.instant();
+            Postings next = new Postings();
+            synchronized (this) {
+                rebuilding = next;
+            }
+            long count;
+            try {
+                count = itemExportService.streamAll(item -> load(next, item)); // cursor read, the index is the only thing that grows
+                synchronized (this) {
+                    next.deleted.clear();
+                    postings = next;
+                }
+            } finally {
+                synchronized (this) {
+                    rebuilding = null;
+                }
+            }
+            lastSync = start; // rows committed during the read are picked up by the next resync
+            log.info("Search index built with {} items", count);
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    /**
+     * Re-indexes the items modified since the last resync or rebuild (minus item.search.safety-margin).
+     */
+    @Scheduled(fixedDelayString = "${item.search.resync-interval}", initialDelayString = "${item.search.resync-interval}")
+    public void resync() {
+        maintenanceLock.lock();
+        try {
+            if (lastSync == null) {
+                return; // the startup rebuild has not run yet and reads everything anyway
+            }
+            Instant start = clock.instant();
+            long count = itemExportService.streamChangedSince(lastSync.minus(properties.getSafetyMargin()), this::put);
+            lastSync = start;
+            log.debug("Search index resynced {} changed items", count);
+        } finally {
+            maintenanceLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true) // after commit, so a rolled back write never reaches the index
+    public void on(ItemWriteEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> event.items().forEach(this::put);
+            case DELETED -> event.ids().forEach(this::remove);
+            case STATUS_CHANGED -> {
+                if (event.isRange()) {
+                    updateStatusInRange(event.fromId(), event.toId(), event.status());
+                } else {
+                    updateStatus(event.ids(), event.status());
+                }
+            }
+        }
+    }
+
+    public synchronized void put(Item item) {
+        if (item.getId() == null) {
+            return;
+        }
+        Document document = document(item);
+        postings.put(item.getId(), document);
+        if (rebuilding != null) {
+            rebuilding.put(item.getId(), document);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        postings.remove(id);
+        if (rebuilding != null) {
+            rebuilding.remove(id);
+            rebuilding.deleted.add(id);
+        }
+    }
+
+    /**
+     * Status change of already indexed items, for the bulk UPDATEs that never load the entities.
+     */
+    public void updateStatus(Collection<Long> ids, String status) {
+        applyStatus(generation -> ids, status);
+    }
+
+    public void updateStatusInRange(Long fromId, Long toId, String status) {
+        applyStatus(generation -> List.copyOf(generation.documents.subMap(fromId, true, toId, true).keySet()), status);
+    }
+
+    public synchronized void clear() {
+        postings = new Postings();
+    }
+
+    public int size() {
+        return postings.documents.size();
+    }
+
+    /**
+     * Ids (ascending, greater than after) of the items containing every word of text in their name or description,
+     * with the given status and email domain. Null or blank criteria are not applied.
+     */
+    public List<Long> search(String text, String status, String domain, Long after, int limit) {
+        Postings current = postings; // one generation for the whole search, a rebuild may swap it meanwhile
+        List<NavigableSet<Long>> sets = new ArrayList<>();
+        for (String word : words(text)) {
+            sets.add(current.byWord.get(word));
+        }
+        if (status != null && !status.isBlank()) {
+            sets.add(current.byStatus.get(normalize(status)));
+        }
+        if (domain != null && !domain.isBlank()) {
+            sets.add(current.byDomain.get(domain.trim().toLowerCase(Locale.ROOT)));
+        }
+        if (sets.contains(null)) {
+            return List.of(); // a criterion nobody matches
+        }
+        NavigableSet<Long> candidates = sets.isEmpty()
+                ? current.documents.keySet()
+                : sets.stream().min(Comparator.comparingInt(Set::size)).orElseThrow(); // walk the most selective set
+        List<Long> ids = new ArrayList<>(limit);
+        for (Long id : after == null ? candidates : candidates.tailSet(after, false)) {
+            if (sets.stream().allMatch(posting -> posting == candidates || posting.contains(id))) {
+                ids.add(id);
+                if (ids.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private synchronized void load(Postings generation, Item item) {
+        if (!generation.deleted.contains(item.getId())) { // read by the cursor before a delete this node already applied
+            generation.put(item.getId(), document(item));
+        }
+    }
+
+    private synchronized void applyStatus(Function<Postings, Collection<Long>> ids, String status) {
+        String normalized = normalize(status);
+        postings.updateStatus(ids.apply(postings), normalized);
+        if (rebuilding != null) {
+            rebuilding.updateStatus(ids.apply(rebuilding), normalized);
+        }
+    }
+
+    private static Document document(Item item) {
+        Set<String> words = new HashSet<>(words(item.getName()));
+        words.addAll(words(item.getDescription()));
+        return new Document(Set.copyOf(words), normalize(item.getStatus()), domain(item.getEmail()),
+                item.getVersion() == null ? 0 : item.getVersion());
+    }
+
+    private static Set<String> words(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        return WORD_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static String normalize(String status) {
+        return status == null ? "" : status.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String domain(String email) {
+        int at = email == null ? -1 : email.lastIndexOf('@');
+        return at < 0 ? "" : email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One generation of the index. Only changed while holding the ItemSearchIndex lock, read without it.
+     */
+    private static final class Postings {
+
+        private final ConcurrentSkipListMap<Long, Document> documents = new ConcurrentSkipListMap<>();
+        private final Map<String, NavigableSet<Long>> byWord = new ConcurrentHashMap<>();
+        private final Map<String, NavigableSet<Long>> byStatus = new ConcurrentHashMap<>();
+        private final Map<String, NavigableSet<Long>> byDomain = new ConcurrentHashMap<>();
+        private final Set<Long> deleted = new HashSet<>(); // ids deleted while a rebuild fills this generation
+
+        private void put(Long id, Document document) {
+            Document existing = documents.get(id);
+            if (existing != null && existing.version() > document.version()) {
+                return; // an older copy of the item, e.g. the update behind this one was applied first
+            }
+            remove(id);
+            documents.put(id, document);
+            document.words().forEach(word -> add(byWord, word, id));
+            add(byStatus, document.status(), id);
+            add(byDomain, document.domain(), id);
+        }
+
+        private void remove(Long id) {
+            Document document = documents.remove(id);
+            if (document != null) {
+                document.words().forEach(word -> removeFrom(byWord, word, id));
+                removeFrom(byStatus, document.status(), id);
+                removeFrom(byDomain, document.domain(), id);
+            }
+        }
+
+        private void updateStatus(Collection<Long> ids, String status) {
+            for (Long id : ids) {
+                Document document = documents.get(id);
+                if (document == null || status.equals(document.status())) {
+                    continue;
+                }
+                removeFrom(byStatus, document.status(), id);
+                documents.put(id, new Document(document.words(), status, document.domain(), document.version()));
+                add(byStatus, status, id);
+            }
+        }
+
+        private static void add(Map<String, NavigableSet<Long>> index, String key, Long id) {
+            index.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(id);
+        }
+
+        private static void removeFrom(Map<String, NavigableSet<Long>> index, String key, Long id) {
+            NavigableSet<Long> ids = index.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    index.remove(key); // keeps the word map from growing with words that no longer occur
+                }
+            }
+        }
+    }
+}
@@ -1,11 +1,26 @@
 package com.siemens.internship.service;
 
+import com.siemens.internship.config.DbAccessLimiter;
+import com.siemens.internship.config.ExecutorConfig;
+import com.siemens.internship.config.ProcessingProperties;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemListVersion;
+import com.siemens.internship.model.ItemPatch;
+import com.siemens.internship.model.ItemSummary;
+import com.siemens.internship.model.ItemWriteEvent;
+import com.siemens.internship.pipeline.ItemPipeline;
 import com.siemens.internship.repository.ItemRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -13,23 +28,115 @@ import java.util.concurrent.*;
 @Service
 public class ItemService {
     private final ItemRepository itemRepository;
+    private final ItemBatchProcessor batchProcessor;
+    private final DbAccessLimiter dbAccessLimiter;
+    private final ItemCache itemCache;
+    private final ItemSearchIndex searchIndex;
+    private final ApplicationEventPublisher events;
+    private final ItemClaimService itemClaimService;
+    private final DeadLetterService deadLetterService;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreaker writeCircuitBreaker;
+    private final ItemProcessingMetrics metrics;
+    private final ItemPipeline pipeline;
+    private final Clock clock = Clock.systemUTC();
 
-    public ItemService(ItemRepository itemRepository) {
+    public static final String PROCESSED = "PROCESSED";
+
+    public ItemService(ItemRepository itemRepository, ProcessingProperties processingProperties,
+                       @Qualifier(ExecutorConfig.ITEM_PROCESSING_EXECUTOR) Executor executor, DbAccessLimiter dbAccessLimiter,
+                       ItemCache itemCache, ItemClaimService itemClaimService, DeadLetterService deadLetterService,
+                       ItemProcessingMetrics metrics, ItemPipeline pipeline,
+                       ItemSearchIndex searchIndex, ApplicationEventPublisher events) {
+        // the pool is a managed bean (bounded, shut down with the context) instead of a static newFixedThreadPool
         this.itemRepository = itemRepository; // constructor in the place of @Autowired so that we don't have field injection
+        this.dbAccessLimiter = dbAccessLimiter;
+        this.itemCache = itemCache;
+        this.searchIndex = searchIndex; // read here for search, kept up to date through the events like the cache
+        this.events = events; // every write publishes one ItemWriteEvent, the cache, index, feed and audit log listen for it
+        this.itemClaimService = itemClaimService;
+        this.deadLetterService = deadLetterService;
+        this.metrics = metrics;
+        this.pipeline = pipeline;
+        this.retryPolicy = new RetryPolicy(processingProperties.getRetry(), metrics::retried);
+        this.writeCircuitBreaker = new CircuitBreaker("item-writes", processingProperties.getCircuitBreaker().getFailureThreshold(),
+                processingProperties.getCircuitBreaker().getOpenDuration(), clock);
+        // chunks are claimed (leased) instead of scanned, so reruns skip processed items and nodes don't overlap
+        this.batchProcessor = new ItemBatchProcessor((lastId, size) -> itemClaimService.claim(PROCESSED, size), executor,
+                processingProperties.getChunkSize(), processingProperties.getMaxChunksInFlight());
     }
 
-    private static final ExecutorService executor = Executors.newFixedThreadPool(10);
-
+    @Transactional(readOnly = true) // Hibernate loads the entities read-only and skips the dirty-check snapshots
     public List<Item> findAll() {
         return itemRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public List<ItemSummary> findAllSummaries() {
+        return itemRepository.findAllSummaries();
+    }
+
+    public ItemListVersion listVersion() {
+        return itemRepository.findListVersion();
+    }
+
+    /**
+     * Keyset page: the items with id greater than after (null for the first page), ordered by id.
+     */
+    public ItemPage findPage(Long after, int size) {
+        List<Item> items = itemRepository.findByIdGreaterThanOrderByIdAsc(after == null ? Long.MIN_VALUE : after, Limit.of(size));
+        Long nextCursor = items.size() < size ? null : items.get(items.size() - 1).getId(); // short page -> no more items
+        return new ItemPage(items, nextCursor);
+    }
+
+    /**
+     * Keyset page of the items matching every word of text (name or description), status and email domain;
+     * null criteria are not applied. The index picks the ids, the page is then loaded with one query.
+     */
+    public ItemPage search(String text, String status, String domain, Long after, int size) {
+        List<Long> ids = searchIndex.search(text, status, domain, after, size);
+        List<Item> items = new ArrayList<>(itemRepository.findAllById(ids));
+        items.sort(Comparator.comparing(Item::getId));
+        Long nextCursor = ids.size() < size ? null : ids.get(ids.size() - 1); // cursor from the index, rows may have been deleted since
+        return new ItemPage(items, nextCursor);
+    }
+
     public Optional<Item> findById(Long id) {
-        return itemRepository.findById(id);
+        return itemCache.get(id, itemRepository::findById); // read-through, every write below keeps the cache in sync
+    }
+
+    public Item save(Item item) { // always creates: an id or version sent by the client is ignored
+        item.setId(null);
+        item.setVersion(null);
+        Item saved = itemRepository.save(item);
+        events.publishEvent(ItemWriteEvent.created(List.of(saved)));
+        return saved;
+    }
+
+    @Transactional
+    public List<Item> saveAll(List<Item> items) { // one transaction, inserts are sent in JDBC batches (hibernate.jdbc.batch_size)
+        items.forEach(item -> { // bulk path only creates items, so no merge/select per item
+            item.setId(null);
+            item.setVersion(null);
+        });
+        List<Item> saved = itemRepository.saveAll(items);
+        events.publishEvent(ItemWriteEvent.created(saved)); // delivered once the transaction commits
+        return saved;
     }
 
-    public Item save(Item item) {
-        return itemRepository.save(item);
+    public int updateStatus(Collection<Long> ids, String status) { // bulk status transition for an id list
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int updated = itemRepository.updateStatusByIdIn(ids, status, clock.instant());
+        events.publishEvent(ItemWriteEvent.statusChanged(ids, status));
+        return updated;
+    }
+
+    public int updateStatusInRange(Long fromId, Long toId, String status) { // bulk status transition for an inclusive id range
+        int updated = itemRepository.updateStatusByIdBetween(fromId, toId, status, clock.instant());
+        events.publishEvent(ItemWriteEvent.statusChangedInRange(fromId, toId, status));
+        return updated;
     }
 
     public boolean deleteById(Long id){
@@ -37,16 +144,64 @@ public class ItemService {
             return false;
         }
         itemRepository.deleteById(id);
+        events.publishEvent(ItemWriteEvent.deleted(id));
         return true;
     }
 
     public Optional<Item> updateItem(Long id, Item updatedItem) { // created update function so that controller calls the method from service
+        return updateItem(id, updatedItem, updatedItem.getVersion());
+    }
+
+    /**
+     * Replaces the editable fields of the item. When expectedVersion is given it must match the stored version;
+     * a mismatch, or another write between load and save, throws OptimisticLockingFailureException.
+     */
+    public Optional<Item> updateItem(Long id, Item updatedItem, Long expectedVersion) {
+        return itemRepository.findById(id).map(existingItem -> {
+            checkVersion(existingItem, expectedVersion);
+            existingItem.setName(updatedItem.getName()); // copied onto the loaded row so the lease columns are kept
+            existingItem.setDescription(updatedItem.getDescription());
+            existingItem.setStatus(updatedItem.getStatus());
+            existingItem.setEmail(updatedItem.getEmail());
+            return saveExisting(existingItem);
+        });
+    }
+
+    /**
+     * Changes only the fields present (non-null) in the patch, with the same version check as updateItem.
+     */
+    public Optional<Item> patchItem(Long id, ItemPatch patch, Long expectedVersion) {
         return itemRepository.findById(id).map(existingItem -> {
-            updatedItem.setId(id);
-            return itemRepository.save(updatedItem);
+            checkVersion(existingItem, expectedVersion);
+            if (patch.name() != null) {
+                existingItem.setName(patch.name());
+            }
+            if (patch.description() != null) {
+                existingItem.setDescription(patch.description());
+            }
+            if (patch.status() != null) {
+                existingItem.setStatus(patch.status());
+            }
+            if (patch.email() != null) {
+                existingItem.setEmail(patch.email());
+            }
+            return saveExisting(existingItem);
         });
     }
 
+    private static void checkVersion(Item existingItem, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(existingItem.getVersion())) {
+            throw new OptimisticLockingFailureException("Item " + existingItem.getId() + " is at version "
+                    + existingItem.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    private Item saveExisting(Item existingItem) {
+        Item saved = itemRepository.save(existingItem); // merge compares the version again, inside the UPDATE
+        events.publishEvent(ItemWriteEvent.updated(saved));
+        return saved;
+    }
+
 
 
     /**
@@ -67,38 +222,115 @@ public class ItemService {
      * Examine how errors are handled and propagated
      * Consider the interaction between Spring's @Async and CompletableFuture
      */
-    @Async
+    @Async(ExecutorConfig.ITEM_ASYNC_EXECUTOR)
     public CompletableFuture<List<Item>> processItemsAsync() {
+        // the items are read and saved chunk by chunk, only the returned list grows with the table size
+        Queue<Item> processedItems = new ConcurrentLinkedQueue<>(); // chunks complete on different threads
+        processItems(processedItems::addAll);
+        return CompletableFuture.completedFuture(List.copyOf(processedItems));
+    }
 
-        List<Item> items = itemRepository.findAll();               // get from DB all the items only once
-
-        List<CompletableFuture<Item>> futures = items.stream()
-                .map(item -> CompletableFuture.supplyAsync(() -> {
-                            try { Thread.sleep(1000); }                    // simulate work
-                            catch (InterruptedException ie) {
-                                Thread.currentThread().interrupt();
-                                throw new IllegalStateException(
-                                        "Interrupted while processing item " + item.getId(), ie);
-                            }
-                            item.setStatus("PROCESSED"); // got rid of the processedCount and processedItems list as we don't need them(we return the list)
-                            return itemRepository.save(item);
-                        }, executor)
-                        .handle((saved, ex) -> {                          // error handling
-                            if (ex != null) {
-                                log.error("Failed to process item {}", item.getId(), ex);
-                                return null;
-                            }
-                            return saved;
-                        }))
-                .toList();
-
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])) // combining futures in a list that we return
-                .thenApply(v -> futures.stream()
-                        .map(CompletableFuture::join)
-                        .filter(Objects::nonNull)
-                        .toList());
+    /**
+     * Processes every item on the calling thread and reports each finished chunk to the listener,
+     * so callers decide what (if anything) to keep of the processed items. The reported items carry the version
+     * and lastModified the completing update gave them.
+     */
+    public ItemBatchProcessor.Result processItems(ItemBatchProcessor.ChunkListener listener) {
+        return process(batchProcessor, listener);
     }
 
+    /**
+     * Incremental run: processes at most maxItems unprocessed items modified at or after since, oldest change first.
+     */
+    public ItemBatchProcessor.Result processChangedSince(Instant since, int maxItems, ItemBatchProcessor.ChunkListener listener) {
+        int[] remaining = {maxItems}; // the reader calls the chunk source from one thread only
+        ItemBatchProcessor changed = batchProcessor.withChunkSource((lastId, size) -> {
+            if (remaining[0] <= 0) {
+                return List.of();
+            }
+            List<Item> chunk = itemClaimService.claimChangedSince(PROCESSED, since, Math.min(size, remaining[0]));
+            remaining[0] -= chunk.size();
+            return chunk;
+        });
+        return process(changed, listener);
+    }
 
-}
+    private ItemBatchProcessor.Result process(ItemBatchProcessor processor, ItemBatchProcessor.ChunkListener listener) {
+        ItemBatchProcessor.ChunkListener deadLettering = new ItemBatchProcessor.ChunkListener() {
+            @Override
+            public void onSuccess(List<Item> chunk) {
+                listener.onSuccess(chunk);
+            }
 
+            @Override
+            public void onFailure(Item item, Throwable cause) {
+                metrics.failed();
+                deadLetter(item, cause); // failed after all retries: keep it instead of silently dropping it
+                listener.onFailure(item, cause);
+            }
+        };
+        ItemPipeline.Run run = pipeline.newRun(); // counts only this run's items, other runs share the pipeline
+        long start = System.nanoTime();
+        // the items go through the pipeline stages (each retried on its own), the batch processor only reads and writes chunks
+        ItemBatchProcessor.Result result = processor.processAsync(item -> pipeline.submit(item, run),
+                chunk -> retryPolicy.execute("Writing chunk", () -> writeCircuitBreaker.call(() -> markProcessed(chunk))),
+                deadLettering);
+        log.info("Processed {} items, {} failed", result.processed(), result.failed());
+        logStageThroughput(run.stats(), System.nanoTime() - start);
+        return result;
+    }
+
+    public long countUnprocessed() {
+        return itemClaimService.countPending(PROCESSED);
+    }
+
+    private static void logStageThroughput(List<ItemPipeline.StageStats> stages, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        for (ItemPipeline.StageStats stage : stages) {
+            log.info("Stage {}: {} items ({}/s), {} failed, {} workers", stage.name(), stage.completed(),
+                    String.format("%.1f", stage.completed() / seconds), stage.failed(), stage.concurrency());
+        }
+    }
+
+    private void deadLetter(Item item, Throwable cause) {
+        try {
+            dbAccessLimiter.call(() -> {
+                deadLetterService.record(item.getId(), cause);
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            // the DB is likely down as well; the lease still expires, so the item is claimed again later
+            log.error("Could not dead-letter item {}", item.getId(), ex);
+        }
+    }
+
+    private List<Item> markProcessed(List<Item> chunk) {
+        // only the status column changes, so one UPDATE ... WHERE id IN (...) per chunk instead of saving every entity
+        // chunks can finish on many (virtual) threads at once, the limiter keeps them within the connection pool
+        List<Long> ids = chunk.stream().map(Item::getId).toList();
+        Instant now = clock.instant();
+        // also releases this node's lease; only the returned ids were still held by this node
+        Set<Long> completed = new HashSet<>(dbAccessLimiter.call(() -> itemClaimService.complete(ids, PROCESSED, now)));
+        if (completed.size() < ids.size()) { // the lease expired and another node claimed the item, its run reports it
+            metrics.lostClaims(ids.size() - completed.size());
+        }
+        List<Long> completedIds = ids.stream().filter(completed::contains).toList();
+        if (!completedIds.isEmpty()) {
+            events.publishEvent(ItemWriteEvent.statusChanged(completedIds, PROCESSED));
+            metrics.processed(completedIds.size());
+        }
+        List<Item> processed = new ArrayList<>(completedIds.size());
+        for (Item item : chunk) {
+            if (completed.contains(item.getId())) {
+                // the UPDATE bumped the row past the copy we hold; callers return these items and clients send the
+                // version back with their next write, which would otherwise conflict with our own update
+                item.setVersion(item.getVersion() + 1);
+                item.setLastModified(now);
+                item.setLeaseOwner(null);
+                item.setLeaseUntil(null);
+                processed.add(item);
+            }
+        }
+        return processed;
+    }
+}
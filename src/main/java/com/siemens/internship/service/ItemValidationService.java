@@ -0,0 +1,68 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ExecutorConfig;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemValidationError;
+import com.siemens.internship.validation.EmailValidator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Validation of large item lists without Bean Validation: the constraints of Item are checked directly (no
+ * reflection, no violation objects for valid items) and big lists are split into slices checked in parallel.
+ * Has to be kept in line with the annotations on Item; ItemValidationServiceTest compares both.
+ */
+@Service
+public class ItemValidationService {
+
+    static final int SLICE_SIZE = 2000; // below this, handing the work to other threads costs more than it saves
+
+    private final Executor executor;
+
+    public ItemValidationService(@Qualifier(ExecutorConfig.ITEM_PROCESSING_EXECUTOR) Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * All errors of the list, ordered by item index; empty when every item is valid.
+     */
+    public List<ItemValidationError> validate(List<Item> items) {
+        if (items.size() <= SLICE_SIZE) {
+            return validateSlice(items, 0);
+        }
+        List<CompletableFuture<List<ItemValidationError>>> slices = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += SLICE_SIZE) {
+            int start = from;
+            List<Item> slice = items.subList(from, Math.min(items.size(), from + SLICE_SIZE));
+            slices.add(CompletableFuture.supplyAsync(() -> validateSlice(slice, start), executor));
+        }
+        return slices.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .sorted(Comparator.comparingInt(ItemValidationError::index))
+                .toList();
+    }
+
+    public boolean isValid(List<Item> items) {
+        return validate(items).isEmpty();
+    }
+
+    private static List<ItemValidationError> validateSlice(List<Item> slice, int offset) {
+        List<ItemValidationError> errors = new ArrayList<>();
+        for (int i = 0; i < slice.size(); i++) {
+            Item item = slice.get(i);
+            if (item == null) {
+                errors.add(new ItemValidationError(offset + i, null, "Item is missing"));
+            } else if (item.getEmail() != null && !EmailValidator.isValid(item.getEmail())) {
+                errors.add(new ItemValidationError(offset + i, "email", "Invalid email"));
+            }
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,102 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of one background processing run. Counters are updated from the executor threads while
+ * clients poll, so everything here is thread-safe. Only the ids of processed items are kept, at most maxResults
+ * of them (a run over the whole table would otherwise hold one per row until the job expires);
+ * the items themselves are loaded again page by page when the results are read.
+ */
+public class ProcessingJob {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final long total;
+    private final Instant startedAt;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final int maxResults;
+    private long[] processedIds = new long[0]; // guarded by this, unboxed and grown up to maxResults
+    private int processedIdCount; // guarded by this
+    private volatile boolean resultsTruncated;
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+
+    public ProcessingJob(String id, long total, int maxResults, Instant startedAt) {
+        this.id = id;
+        this.total = total;
+        this.maxResults = maxResults;
+        this.startedAt = startedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void onSuccess(List<Item> chunk) {
+        synchronized (this) {
+            for (Item item : chunk) {
+                if (processedIdCount == maxResults) {
+                    resultsTruncated = true; // still counted below, just not listed in the results
+                    break;
+                }
+                if (processedIdCount == processedIds.length) {
+                    processedIds = Arrays.copyOf(processedIds, Math.min(Math.max(16, processedIdCount * 2), maxResults));
+                }
+                processedIds[processedIdCount++] = item.getId();
+            }
+        }
+        processed.addAndGet(chunk.size());
+    }
+
+    public void onFailure() {
+        failed.incrementAndGet();
+    }
+
+    void finish(State finalState, Instant now) {
+        finishedAt = now;
+        state = finalState;
+    }
+
+    /**
+     * Ids of the processed items on the requested page, in completion order.
+     */
+    public synchronized List<Long> processedIds(int page, int size) {
+        long from = (long) page * size;
+        if (from >= processedIdCount) {
+            return List.of();
+        }
+        int to = (int) Math.min(from + size, processedIdCount);
+        return Arrays.stream(processedIds, (int) from, to).boxed().toList();
+    }
+
+    public Status toStatus() {
+        long done = processed.get();
+        long failures = failed.get();
+        long remaining = state == State.RUNNING ? Math.max(0, total - done - failures) : 0; // rows added mid-run can overshoot total
+        return new Status(id, state, total, done, failures, remaining, startedAt, finishedAt, resultsTruncated);
+    }
+
+    /**
+     * Snapshot returned to polling clients. resultsTruncated is true once more items were processed than the
+     * results keep.
+     */
+    public record Status(String jobId, State state, long total, long processed, long failed, long remaining,
+                         Instant startedAt, Instant finishedAt, boolean resultsTruncated) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.siemens.internship.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded in-memory store of processing jobs. Finished jobs are evicted once they are older than the TTL,
+ * and when the registry is full the oldest finished job makes room for a new one. Running jobs are never evicted.
+ * Every job keeps at most maxResults processed ids, so the registry holds at most maxJobs * maxResults of them.
+ */
+public class ProcessingJobRegistry {
+
+    private final Map<String, ProcessingJob> jobs = new ConcurrentHashMap<>();
+    private final int maxJobs;
+    private final Duration ttl;
+    private final int maxResults;
+    private final Clock clock;
+
+    public ProcessingJobRegistry(int maxJobs, Duration ttl, int maxResults, Clock clock) {
+        if (maxJobs < 1) {
+            throw new IllegalArgumentException("maxJobs must be positive");
+        }
+        this.maxJobs = maxJobs;
+        this.ttl = ttl;
+        this.maxResults = maxResults;
+        this.clock = clock;
+    }
+
+    /**
+     * Registers a new running job, or throws IllegalStateException when maxJobs jobs are still running.
+     */
+    public synchronized ProcessingJob create(long total) {
+        evictExpired();
+        if (jobs.size() >= maxJobs) {
+            ProcessingJob oldest = jobs.values().stream()
+                    .filter(job -> job.getState() != ProcessingJob.State.RUNNING)
+                    .min(Comparator.comparing(ProcessingJob::getFinishedAt))
+                    .orElseThrow(() -> new IllegalStateException("Too many processing jobs are running"));
+            jobs.remove(oldest.getId());
+        }
+        ProcessingJob job = new ProcessingJob(UUID.randomUUID().toString(), total, maxResults, clock.instant());
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    public Optional<ProcessingJob> find(String jobId) {
+        evictExpired();
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public void finish(ProcessingJob job, ProcessingJob.State state) {
+        job.finish(state, clock.instant());
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    private void evictExpired() {
+        Instant cutoff = clock.instant().minus(ttl);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,95 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ExecutorConfig;
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs item processing as a background job: the caller gets a job id immediately and polls for progress
+ * instead of holding the HTTP connection until the whole table is done.
+ */
+@Slf4j
+@Service
+public class ProcessingJobService {
+
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final Executor executor;
+    private final ProcessingJobRegistry registry;
+
+    public ProcessingJobService(ItemService itemService, ItemRepository itemRepository, ProcessingProperties processingProperties,
+                                @Qualifier(ExecutorConfig.ITEM_JOB_EXECUTOR) Executor executor) {
+        this.itemService = itemService;
+        this.itemRepository = itemRepository;
+        this.executor = executor;
+        this.registry = new ProcessingJobRegistry(processingProperties.getMaxJobs(), processingProperties.getJobTtl(),
+                processingProperties.getMaxJobResults(), Clock.systemUTC());
+    }
+
+    /**
+     * Registers a job and starts it in the background. Throws IllegalStateException when the registry is full
+     * or every job thread is busy.
+     */
+    public ProcessingJob start() {
+        ProcessingJob job = registry.create(itemService.countUnprocessed());
+        try {
+            run(job);
+        } catch (RejectedExecutionException ex) { // the job pool aborts instead of running the job on the request thread
+            registry.finish(job, ProcessingJob.State.FAILED);
+            throw new IllegalStateException("Processing executor is saturated", ex);
+        }
+        return job;
+    }
+
+    private void run(ProcessingJob job) {
+        CompletableFuture.runAsync(() -> itemService.processItems(new ItemBatchProcessor.ChunkListener() {
+                    @Override
+                    public void onSuccess(List<Item> chunk) {
+                        job.onSuccess(chunk);
+                    }
+
+                    @Override
+                    public void onFailure(Item item, Throwable cause) {
+                        job.onFailure();
+                    }
+                }), executor)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Processing job {} failed", job.getId(), ex);
+                    }
+                    registry.finish(job, ex == null ? ProcessingJob.State.COMPLETED : ProcessingJob.State.FAILED);
+                });
+    }
+
+    public Optional<ProcessingJob.Status> status(String jobId) {
+        return registry.find(jobId).map(ProcessingJob::toStatus);
+    }
+
+    /**
+     * One page of the items processed so far, or empty if the job is unknown or expired. Only the first
+     * item.processing.max-job-results items are kept, Status.resultsTruncated tells when there were more.
+     */
+    public Optional<List<Item>> results(String jobId, int page, int size) {
+        return registry.find(jobId).map(job -> {
+            List<Long> ids = job.processedIds(page, size);
+            Map<Long, Item> byId = itemRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            return ids.stream().map(byId::get).filter(Objects::nonNull).toList(); // deleted items are skipped
+        });
+    }
+}
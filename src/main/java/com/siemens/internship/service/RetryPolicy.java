@@ -0,0 +1,80 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ProcessingProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs an action up to maxAttempts times, waiting initialBackoff * multiplier^(attempt - 1) (capped at
+ * maxBackoff, minus random jitter) between attempts. The last failure is rethrown unchanged, and so is
+ * the first failure the retryable predicate rejects.
+ */
+@Slf4j
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final double multiplier;
+    private final long maxBackoffMillis;
+    private final double jitter;
+    private final Runnable retryListener;
+    private final Predicate<RuntimeException> retryable;
+
+    public RetryPolicy(ProcessingProperties.Retry retry) {
+        this(retry, () -> { });
+    }
+
+    public RetryPolicy(ProcessingProperties.Retry retry, Runnable retryListener) { // retryListener runs before every retry
+        this(retry, retryListener, ex -> true);
+    }
+
+    public RetryPolicy(ProcessingProperties.Retry retry, Runnable retryListener, Predicate<RuntimeException> retryable) {
+        if (retry.getMaxAttempts() < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.maxAttempts = retry.getMaxAttempts();
+        this.initialBackoffMillis = retry.getInitialBackoff().toMillis();
+        this.multiplier = retry.getMultiplier();
+        this.maxBackoffMillis = retry.getMaxBackoff().toMillis();
+        this.jitter = retry.getJitter();
+        this.retryListener = retryListener;
+        this.retryable = retryable;
+    }
+
+    public <T> T execute(String description, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (CircuitBreaker.OpenException ex) {
+                throw ex; // the breaker already decided, waiting here would only hold the thread
+            } catch (RuntimeException ex) {
+                if (attempt >= maxAttempts || !retryable.test(ex)) {
+                    throw ex;
+                }
+                long delay = backoffMillis(attempt);
+                log.warn("{} failed (attempt {}/{}), retrying in {} ms: {}", description, attempt, maxAttempts, delay, ex.toString());
+                retryListener.run();
+                sleep(delay);
+            }
+        }
+    }
+
+    long backoffMillis(int attempt) {
+        double exponential = initialBackoffMillis * Math.pow(multiplier, attempt - 1);
+        long capped = (long) Math.min(exponential, maxBackoffMillis);
+        long maxJitter = (long) (capped * jitter);
+        return capped - (maxJitter > 0 ? ThreadLocalRandom.current().nextLong(maxJitter + 1) : 0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", ie);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.siemens.internship.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket: holds up to burst tokens and refills at ratePerSecond; every admitted call takes one token.
+ */
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final LongSupplier nanoTime;
+
+    private double tokens; // guarded by this
+    private long refilledAt; // guarded by this
+
+    public TokenBucket(double ratePerSecond, int burst, LongSupplier nanoTime) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate and burst must be positive");
+        }
+        this.tokensPerNano = ratePerSecond / 1e9;
+        this.capacity = burst;
+        this.nanoTime = nanoTime;
+        this.tokens = burst; // a new client may use its whole burst right away
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes a token and returns 0, or returns the nanoseconds until the next token without taking anything.
+     */
+    public synchronized long tryAcquire() {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
@@ -0,0 +1,55 @@
+package com.siemens.internship.validation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.regex.Pattern;
+
+/**
+ * Checks emails against Item.EMAIL_REGEX in two steps. A single pass over the characters rejects most bad
+ * input and checks the local part (one '@', only [\w!#$%&*+=.-] before it). The domain is then checked with a
+ * precompiled pattern, and the result is cached per domain, because a few domains cover most addresses.
+ */
+public class EmailValidator implements ConstraintValidator<ValidEmail, String> {
+
+    private static final Pattern DOMAIN = Pattern.compile("[\\w.-]+\\.[a-zA-Z]{2,4}"); // the part after '@' in EMAIL_REGEX
+    private static final int MAX_CACHED_DOMAIN_LENGTH = 255;
+    private static final Cache<String, Boolean> DOMAINS = Caffeine.newBuilder()
+            .maximumSize(10_000) // bounded, a batch of random domains cannot grow it
+            .build();
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || isValid(value);
+    }
+
+    public static boolean isValid(String email) {
+        int at = -1;
+        for (int i = 0; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false; // neither part may contain a second '@'
+                }
+                at = i;
+            } else if (at < 0 && !isLocalChar(c)) {
+                return false;
+            }
+        }
+        if (at < 1 || at > email.length() - 5) { // non-empty local part, domain at least "x.yz"
+            return false;
+        }
+        String domain = email.substring(at + 1);
+        if (domain.length() > MAX_CACHED_DOMAIN_LENGTH) {
+            return DOMAIN.matcher(domain).matches();
+        }
+        return DOMAINS.get(domain, d -> DOMAIN.matcher(d).matches());
+    }
+
+    private static boolean isLocalChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || "_!#$%&*+=.-".indexOf(c) >= 0;
+    }
+}
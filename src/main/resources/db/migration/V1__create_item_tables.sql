@@ -0,0 +1,24 @@
+-- schema of the entities as of this migration; the prod profile validates the mapping against it instead of diffing
+CREATE SEQUENCE item_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE item (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    status VARCHAR(255),
+    email VARCHAR(255),
+    version BIGINT,
+    last_modified TIMESTAMP(6) WITH TIME ZONE,
+    lease_owner VARCHAR(255),
+    lease_until TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_item_status ON item (status);
+CREATE INDEX idx_item_last_modified ON item (last_modified);
+
+CREATE TABLE item_dead_letter (
+    item_id BIGINT NOT NULL PRIMARY KEY,
+    cause VARCHAR(1000),
+    failures INTEGER NOT NULL,
+    failed_at TIMESTAMP(6) WITH TIME ZONE
+);
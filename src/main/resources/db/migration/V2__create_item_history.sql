@@ -0,0 +1,13 @@
+CREATE TABLE item_history (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_id BIGINT,
+    action VARCHAR(255),
+    name VARCHAR(255),
+    description VARCHAR(255),
+    status VARCHAR(255),
+    email VARCHAR(255),
+    version BIGINT,
+    changed_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_item_history_item ON item_history (item_id, id);
@@ -0,0 +1,6 @@
+CREATE TABLE item_processing_checkpoint (
+    name VARCHAR(255) PRIMARY KEY,
+    high_water_mark TIMESTAMP(6) WITH TIME ZONE,
+    last_item_id BIGINT,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
@@ -0,0 +1,120 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.SchedulerProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ProcessingCheckpoint;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ProcessingCheckpointRepository;
+import com.siemens.internship.service.IncrementalProcessingScheduler;
+import com.siemens.internship.service.ItemBatchProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class IncrementalProcessingSchedulerTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ProcessingCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private IncrementalProcessingScheduler scheduler;
+
+    @Autowired
+    private SchedulerProperties schedulerProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() {
+        itemRepository.deleteAll();
+        checkpointRepository.deleteAll();
+    }
+
+    @Test
+    void testRunProcessesOnlyItemsChangedSinceCheckpoint() {
+        itemRepository.save(new Item(null, "a", "a", "NEW", "a@example.com"));
+        Item b = itemRepository.save(new Item(null, "b", "b", "NEW", "b@example.com"));
+        itemRepository.save(new Item(null, "c", "c", "PROCESSED", "c@example.com"));
+
+        ItemBatchProcessor.Result first = scheduler.runOnce().orElseThrow();
+
+        assertEquals(2, first.processed());
+        ProcessingCheckpoint checkpoint = checkpointRepository.findById(IncrementalProcessingScheduler.CHECKPOINT_NAME).orElseThrow();
+        assertEquals(b.getId(), checkpoint.getLastItemId());
+        assertEquals(0, scheduler.runOnce().orElseThrow().processed()); // nothing changed since
+
+        Item d = itemRepository.save(new Item(null, "d", "d", "NEW", "d@example.com"));
+
+        assertEquals(1, scheduler.runOnce().orElseThrow().processed());
+        assertEquals("PROCESSED", itemRepository.findById(d.getId()).orElseThrow().getStatus());
+        assertEquals(0.0, meterRegistry.get("item.processing.backlog.size").gauge().value());
+        assertEquals(0.0, meterRegistry.get("item.processing.backlog.age").gauge().value());
+    }
+
+    @Test
+    void testRunStopsAtBatchSize() {
+        int batchSize = schedulerProperties.getBatchSize();
+        schedulerProperties.setBatchSize(2);
+        try {
+            for (int i = 0; i < 3; i++) {
+                itemRepository.save(new Item(null, "item" + i, "d", "NEW", "i" + i + "@example.com"));
+            }
+
+            assertEquals(2, scheduler.runOnce().orElseThrow().processed());
+            assertEquals(1.0, meterRegistry.get("item.processing.backlog.size").gauge().value());
+            assertTrue(meterRegistry.get("item.processing.backlog.age").gauge().value() >= 0);
+            assertEquals(1, scheduler.runOnce().orElseThrow().processed()); // the rest is left for the next tick
+        } finally {
+            schedulerProperties.setBatchSize(batchSize);
+        }
+    }
+
+    @Test
+    void testRunDoesNotMoveCheckpointPastItemsLeasedElsewhere() {
+        Item leased = itemRepository.save(new Item(null, "leased", "d", "NEW", "leased@example.com"));
+        itemRepository.save(new Item(null, "free", "d", "NEW", "free@example.com"));
+        lease(leased.getId(), Instant.now().plusSeconds(300));
+
+        assertEquals(1, scheduler.runOnce().orElseThrow().processed());
+        ProcessingCheckpoint checkpoint = checkpointRepository.findById(IncrementalProcessingScheduler.CHECKPOINT_NAME).orElseThrow();
+        assertFalse(checkpoint.getHighWaterMark().isAfter(itemRepository.findById(leased.getId()).orElseThrow().getLastModified()));
+
+        lease(leased.getId(), Instant.now().minusSeconds(1)); // the other node died, its lease expired
+
+        assertEquals(1, scheduler.runOnce().orElseThrow().processed());
+        assertEquals("PROCESSED", itemRepository.findById(leased.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testCheckpointMovesPastProcessedItems() {
+        Item a = itemRepository.save(new Item(null, "a", "a", "NEW", "a@example.com"));
+
+        assertEquals(1, scheduler.runOnce().orElseThrow().processed());
+        assertEquals(0, scheduler.runOnce().orElseThrow().processed());
+
+        // completing an item changes its last_modified, the run after that must not scan it again
+        Instant completedAt = itemRepository.findById(a.getId()).orElseThrow().getLastModified();
+        ProcessingCheckpoint checkpoint = checkpointRepository.findById(IncrementalProcessingScheduler.CHECKPOINT_NAME).orElseThrow();
+        assertTrue(checkpoint.getHighWaterMark().isAfter(completedAt));
+    }
+
+    private void lease(Long id, Instant until) {
+        transactionTemplate.executeWithoutResult(status -> itemRepository.lease(List.of(id), "other-node", until));
+    }
+}
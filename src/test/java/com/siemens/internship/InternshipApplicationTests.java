@@ -1,13 +1,44 @@
 package com.siemens.internship;
 
+import com.siemens.internship.config.ExecutorConfig;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 class InternshipApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void testMvcAsyncRunsOnBoundedPool() {
+		ThreadPoolTaskExecutor executor = context.getBean(ExecutorConfig.WEB_ASYNC_EXECUTOR, ThreadPoolTaskExecutor.class);
+		RequestMappingHandlerAdapter adapter = context.getBean(RequestMappingHandlerAdapter.class);
+
+		assertSame(executor, ReflectionTestUtils.getField(adapter, "taskExecutor")); // the adapter has no getter for it
+		assertEquals(16, executor.getMaxPoolSize());
+		assertEquals(200, executor.getQueueCapacity());
+	}
+
+	@Test
+	void testExecutorMetricsAreBoundOnce() {
+		assertNotNull(meterRegistry.get("executor.completed").tag("name", ExecutorConfig.ITEM_PROCESSING_EXECUTOR).functionCounter());
+		assertNotNull(meterRegistry.get("executor.queued").tag("name", ExecutorConfig.ITEM_ASYNC_EXECUTOR).gauge());
+	}
+
 }
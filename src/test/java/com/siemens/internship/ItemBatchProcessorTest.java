@@ -0,0 +1,95 @@
+package com.siemens.internship;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemBatchProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ItemBatchProcessorTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        itemRepository.deleteAll();
+        executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 10; i++) {
+            itemRepository.save(new Item(null, "Item" + i, "D", "NEW", "a@example.com"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testProcessesEveryItemInChunks() {
+        ItemBatchProcessor processor = new ItemBatchProcessor(itemRepository, executor, 3, 2);
+        AtomicInteger writes = new AtomicInteger();
+        Queue<Item> seen = new ConcurrentLinkedQueue<>();
+
+        ItemBatchProcessor.Result result = processor.process(item -> {
+            item.setStatus("PROCESSED");
+            return item;
+        }, chunk -> {
+            assertTrue(chunk.size() <= 3); // one write per chunk, never more than chunkSize items
+            writes.incrementAndGet();
+            itemRepository.saveAll(chunk);
+        }, seen::addAll);
+
+        assertEquals(10, result.processed());
+        assertEquals(0, result.failed());
+        assertEquals(4, writes.get()); // 3 + 3 + 3 + 1
+        assertEquals(10, seen.size());
+        itemRepository.findAll().forEach(item -> assertEquals("PROCESSED", item.getStatus()));
+    }
+
+    @Test
+    void testFailedItemsAreCountedAndSkipped() {
+        ItemBatchProcessor processor = new ItemBatchProcessor(itemRepository, executor, 4, 1);
+        List<Long> ids = itemRepository.findAll().stream().map(Item::getId).sorted().toList();
+        Long failing = ids.get(5);
+
+        ItemBatchProcessor.Result result = processor.process(item -> {
+            if (item.getId().equals(failing)) {
+                throw new IllegalStateException("boom");
+            }
+            item.setStatus("PROCESSED");
+            return item;
+        }, itemRepository::saveAll, chunk -> { });
+
+        assertEquals(9, result.processed());
+        assertEquals(1, result.failed());
+        assertEquals("NEW", itemRepository.findById(failing).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testFailedWriteCountsWholeChunk() {
+        ItemBatchProcessor processor = new ItemBatchProcessor(itemRepository, executor, 5, 2);
+
+        ItemBatchProcessor.Result result = processor.process(item -> item, chunk -> {
+            throw new IllegalStateException("db down");
+        }, chunk -> fail("listener must not see failed chunks"));
+
+        assertEquals(0, result.processed());
+        assertEquals(10, result.failed());
+    }
+}
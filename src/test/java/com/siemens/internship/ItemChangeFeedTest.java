@@ -0,0 +1,159 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.ChangeFeedProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemChangeEvent;
+import com.siemens.internship.service.ItemChangeFeed;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemChangeFeedTest {
+
+    private ItemChangeFeed feed;
+
+    private ExecutorService deliveryExecutor;
+
+    @BeforeEach
+    void setup() {
+        ChangeFeedProperties properties = new ChangeFeedProperties();
+        properties.setBufferSize(4);
+        properties.setCoalesceWindow(Duration.ofMillis(50));
+        properties.setMaxIdsPerEvent(3);
+        deliveryExecutor = Executors.newCachedThreadPool();
+        feed = new ItemChangeFeed(properties, new SimpleMeterRegistry(), deliveryExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+        deliveryExecutor.shutdownNow();
+    }
+
+    @Test
+    void testStatusChangesAreCoalescedAndKeepOrder() {
+        feed.statusChanged(List.of(1L), "PROCESSED");
+        feed.statusChanged(List.of(2L), "PROCESSED");
+        feed.deleted(1L); // flushes the pending status change before itself
+
+        List<ItemChangeEvent> events = feed.since(0, 10);
+
+        assertEquals(2, events.size());
+        assertEquals(ItemChangeEvent.Type.STATUS_CHANGED, events.get(0).type());
+        assertEquals(List.of(1L, 2L), events.get(0).ids());
+        assertEquals(ItemChangeEvent.Type.DELETED, events.get(1).type());
+        assertTrue(events.get(0).offset() < events.get(1).offset());
+    }
+
+    @Test
+    void testLargeCoalescedBatchIsSplit() {
+        feed.statusChanged(List.of(1L, 2L, 3L, 4L), "PROCESSED"); // reaches max-ids-per-event
+
+        List<ItemChangeEvent> events = feed.since(0, 10);
+
+        assertEquals(2, events.size());
+        assertEquals(List.of(1L, 2L, 3L), events.get(0).ids());
+        assertEquals(List.of(4L), events.get(1).ids());
+    }
+
+    @Test
+    void testOldOffsetsExpire() {
+        for (long id = 1; id <= 6; id++) {
+            feed.deleted(id);
+        }
+
+        assertEquals(6, feed.latestOffset());
+        assertEquals(List.of(6L), feed.since(5, 10).stream().map(ItemChangeEvent::offset).toList());
+        assertEquals(4, feed.since(2, 10).size()); // oldest buffered is 3
+        assertThrows(ItemChangeFeed.OffsetExpiredException.class, () -> feed.since(1, 10));
+    }
+
+    @Test
+    void testOffsetAheadOfFeedIsRejected() {
+        feed.deleted(1L);
+
+        assertTrue(feed.since(1, 10).isEmpty()); // up to date
+        assertThrows(ItemChangeFeed.OffsetExpiredException.class, () -> feed.since(5, 10)); // e.g. from before a restart
+    }
+
+    @Test
+    void testSubscriberResumesFromOffset() throws Exception {
+        feed.created(new Item(1L, "a", "a", "NEW", "a@example.com"));
+        long resumeFrom = feed.latestOffset();
+        feed.created(new Item(2L, "b", "b", "NEW", "b@example.com"));
+        Queue<ItemChangeEvent> received = new ConcurrentLinkedQueue<>();
+        CountDownLatch twoEvents = new CountDownLatch(2);
+
+        feed.subscribe(resumeFrom, new ItemChangeFeed.Subscriber() {
+            @Override
+            public void onEvents(List<ItemChangeEvent> events) {
+                received.addAll(events);
+                events.forEach(event -> twoEvents.countDown());
+            }
+
+            @Override
+            public void onClose(Exception cause) {
+            }
+        });
+        feed.statusChanged(List.of(2L), "PROCESSED");
+
+        assertTrue(twoEvents.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(ItemChangeEvent.Type.CREATED, ItemChangeEvent.Type.STATUS_CHANGED),
+                received.stream().map(ItemChangeEvent::type).toList());
+        assertEquals(2L, received.peek().item().getId());
+    }
+
+    @Test
+    void testSlowSubscriberDoesNotHoldUpOthers() throws Exception {
+        CountDownLatch slowBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch slowClosed = new CountDownLatch(1);
+        BlockingQueue<ItemChangeEvent> fastReceived = new LinkedBlockingQueue<>();
+        feed.subscribe(0, new ItemChangeFeed.Subscriber() {
+            @Override
+            public void onEvents(List<ItemChangeEvent> events) throws InterruptedException {
+                slowBlocked.countDown();
+                release.await(); // a client that does not read its socket
+            }
+
+            @Override
+            public void onClose(Exception cause) {
+                slowClosed.countDown();
+            }
+        });
+        feed.subscribe(0, new ItemChangeFeed.Subscriber() {
+            @Override
+            public void onEvents(List<ItemChangeEvent> events) {
+                fastReceived.addAll(events);
+            }
+
+            @Override
+            public void onClose(Exception cause) {
+            }
+        });
+
+        for (long id = 1; id <= 6; id++) { // more than the buffer holds, so the slow subscriber falls out of it
+            feed.deleted(id);
+            ItemChangeEvent event = fastReceived.poll(5, TimeUnit.SECONDS); // the fast one keeps up meanwhile
+            assertNotNull(event);
+            assertEquals(id, event.offset());
+            assertTrue(slowBlocked.await(5, TimeUnit.SECONDS));
+        }
+        release.countDown();
+        assertTrue(slowClosed.await(5, TimeUnit.SECONDS)); // it resumes from its Last-Event-ID and gets a 410
+    }
+}
@@ -0,0 +1,125 @@
+package com.siemens.internship;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.DeadLetterRepository;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.DeadLetterService;
+import com.siemens.internship.service.ItemClaimService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ItemClaimServiceTest {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemClaimService itemClaimService;
+
+    @Autowired
+    private DeadLetterService deadLetterService;
+
+    @Autowired
+    private DeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() {
+        itemRepository.deleteAll();
+        deadLetterRepository.deleteAll();
+    }
+
+    @Test
+    void testClaimedItemsAreNotHandedOutTwice() {
+        itemRepository.save(new Item(null, "a", "a", "NEW", "a@example.com"));
+        itemRepository.save(new Item(null, "b", "b", "NEW", "b@example.com"));
+        itemRepository.save(new Item(null, "c", "c", "PROCESSED", "c@example.com"));
+
+        List<Item> first = itemClaimService.claim("PROCESSED", 1);
+        List<Item> second = itemClaimService.claim("PROCESSED", 5);
+        List<Item> third = itemClaimService.claim("PROCESSED", 5);
+
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertNotEquals(first.get(0).getId(), second.get(0).getId());
+        assertTrue(third.isEmpty()); // everything left is either leased or already processed
+
+        Item leased = itemRepository.findById(first.get(0).getId()).orElseThrow();
+        assertEquals(itemClaimService.getNodeId(), leased.getLeaseOwner());
+        assertNotNull(leased.getLeaseUntil());
+    }
+
+    @Test
+    void testCompleteReleasesLease() {
+        Item item = itemRepository.save(new Item(null, "a", "a", "NEW", "a@example.com"));
+        itemClaimService.claim("PROCESSED", 10);
+
+        assertEquals(List.of(item.getId()), itemClaimService.complete(List.of(item.getId()), "PROCESSED", Instant.now()));
+
+        Item done = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals("PROCESSED", done.getStatus());
+        assertNull(done.getLeaseOwner());
+        assertNull(done.getLeaseUntil());
+        assertEquals(0, itemClaimService.countPending("PROCESSED"));
+    }
+
+    @Test
+    void testCompleteIgnoresItemsNotLeasedByThisNode() {
+        Item item = itemRepository.save(new Item(null, "a", "a", "NEW", "a@example.com"));
+
+        assertTrue(itemClaimService.complete(List.of(item.getId()), "PROCESSED", Instant.now()).isEmpty());
+        assertEquals("NEW", itemRepository.findById(item.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testCompleteSkipsLostClaims() {
+        Item kept = itemRepository.save(new Item(null, "a", "a", "NEW", "a@example.com"));
+        Item lost = itemRepository.save(new Item(null, "b", "b", "NEW", "b@example.com"));
+        itemClaimService.claim("PROCESSED", 10);
+        transactionTemplate.executeWithoutResult(tx -> // taken over by another node after the lease expired
+                itemRepository.lease(List.of(lost.getId()), "other-node", Instant.now().plusSeconds(60)));
+
+        assertEquals(List.of(kept.getId()), itemClaimService.complete(List.of(kept.getId(), lost.getId()), "PROCESSED",
+                Instant.now()));
+        assertEquals("NEW", itemRepository.findById(lost.getId()).orElseThrow().getStatus());
+        assertEquals("other-node", itemRepository.findById(lost.getId()).orElseThrow().getLeaseOwner());
+    }
+
+    @Test
+    void testEntityWriteKeepsActiveLease() {
+        Item loaded = itemRepository.save(new Item(null, "a", "a", "NEW", "a@example.com")); // copy from before the claim
+        itemClaimService.claim("PROCESSED", 10);
+
+        loaded.setName("renamed");
+        itemRepository.save(loaded); // same version, the claim did not bump it
+
+        Item stored = itemRepository.findById(loaded.getId()).orElseThrow();
+        assertEquals("renamed", stored.getName());
+        assertEquals(itemClaimService.getNodeId(), stored.getLeaseOwner());
+    }
+
+    @Test
+    void testDeadLetteredItemIsNotClaimedUntilItChanges() {
+        Item item = itemRepository.save(new Item(null, "a", "a", "NEW", "a@example.com"));
+        deadLetterService.record(item.getId(), new IllegalArgumentException("rejected")); // not leased (any more)
+
+        assertTrue(itemClaimService.claim("PROCESSED", 10).isEmpty());
+
+        Item stored = itemRepository.findById(item.getId()).orElseThrow();
+        stored.setName("fixed");
+        itemRepository.save(stored); // changed after the failure
+
+        assertEquals(List.of(item.getId()), itemClaimService.claim("PROCESSED", 10).stream().map(Item::getId).toList());
+    }
+}
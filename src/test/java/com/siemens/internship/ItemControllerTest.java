@@ -1,22 +1,32 @@
 package com.siemens.internship;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.config.ExecutorConfig;
 import com.siemens.internship.model.Item;
 import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemAuditLog;
+import com.siemens.internship.service.ItemChangeFeed;
+import com.siemens.internship.service.ItemSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,6 +44,19 @@ class ItemControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ItemChangeFeed itemChangeFeed;
+
+    @Autowired
+    private ItemAuditLog itemAuditLog;
+
+    @Autowired
+    @Qualifier(ExecutorConfig.ITEM_JOB_EXECUTOR)
+    private ThreadPoolTaskExecutor itemJobExecutor;
+
     private Item createItem(String name, String desc, String status, String email) {
         Item item = new Item(null, name, desc, status, email);
         return itemRepository.save(item);
@@ -42,6 +65,7 @@ class ItemControllerTest {
     @BeforeEach
     void clearDb() {
         itemRepository.deleteAll();
+        itemSearchIndex.clear();
     }
 
     @Test
@@ -54,6 +78,172 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.length()", is(2)));
     }
 
+    @Test
+    void testGetAllItems_SummaryFields() throws Exception {
+        createItem("Item1", "D", "NEW", "a@example.com");
+        createItem("Item2", "D", "NEW", "b@example.com");
+
+        mockMvc.perform(get("/api/items").param("fields", "id,name,status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].name").value("Item1"))
+                .andExpect(jsonPath("$[0].status").value("NEW"))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+    }
+
+    @Test
+    void testGetAllItems_UnknownField() throws Exception {
+        mockMvc.perform(get("/api/items").param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetItemsPage() throws Exception {
+        createItem("Item1", "D", "NEW", "a@example.com");
+        createItem("Item2", "D", "NEW", "b@example.com");
+        createItem("Item3", "D", "NEW", "c@example.com");
+
+        String first = mockMvc.perform(get("/api/items/page").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", is(2)))
+                .andExpect(jsonPath("$.items[0].name").value("Item1"))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        long cursor = objectMapper.readTree(first).get("nextCursor").asLong();
+
+        mockMvc.perform(get("/api/items/page").param("after", String.valueOf(cursor)).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()", is(1)))
+                .andExpect(jsonPath("$.items[0].name").value("Item3"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testGetItemsPage_InvalidSize() throws Exception {
+        mockMvc.perform(get("/api/items/page").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStreamItems() throws Exception {
+        createItem("Item1", "D", "NEW", "a@example.com");
+        createItem("Item2", "D", "NEW", "b@example.com");
+
+        MvcResult result = mockMvc.perform(get("/api/items/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.strip().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Item1", objectMapper.readTree(lines[0]).get("name").asText());
+        assertEquals("Item2", objectMapper.readTree(lines[1]).get("name").asText());
+    }
+
+    @Test
+    void testSearchItems() throws Exception {
+        Item red = createItem("Red chair", "Wooden", "NEW", "a@example.com");
+        createItem("Blue chair", "Wooden", "NEW", "b@other.org");
+        Item table = createItem("Red table", "Metal legs", "PROCESSED", "c@example.com");
+        itemSearchIndex.resync(); // written past the service, like another node would
+
+        mockMvc.perform(get("/api/items/search").param("q", "red"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id").value(red.getId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/items/search").param("q", "wooden chair").param("domain", "other.org"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name").value("Blue chair"));
+
+        mockMvc.perform(get("/api/items/search").param("status", "processed"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(table.getId()));
+
+        mockMvc.perform(get("/api/items/search").param("q", "sofa"))
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    @Test
+    void testSearchItems_PagesAndFollowsWrites() throws Exception {
+        createItem("Lamp 1", "D", "NEW", "a@example.com");
+        createItem("Lamp 2", "D", "NEW", "a@example.com");
+        Item third = createItem("Lamp 3", "D", "NEW", "a@example.com");
+        itemSearchIndex.resync();
+
+        String first = mockMvc.perform(get("/api/items/search").param("q", "lamp").param("size", "2"))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andReturn().getResponse().getContentAsString();
+        Long cursor = objectMapper.readTree(first).get("nextCursor").asLong();
+        mockMvc.perform(get("/api/items/search").param("q", "lamp").param("after", cursor.toString()))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(third.getId()));
+
+        mockMvc.perform(delete("/api/items/" + third.getId())).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/items/search").param("q", "lamp"))
+                .andExpect(jsonPath("$.items", hasSize(2)));
+    }
+
+    @Test
+    void testSearchItems_RebuildDropsItemsDeletedElsewhere() throws Exception {
+        mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Item(null, "Desk", "D", "NEW", "a@example.com"))))
+                .andExpect(status().isCreated());
+        assertEquals(1, itemSearchIndex.size()); // indexed by the service
+
+        itemRepository.deleteAll(); // another node or a script, the index does not see it
+        itemSearchIndex.rebuild();
+
+        assertEquals(0, itemSearchIndex.size());
+    }
+
+    @Test
+    void testStreamChanges() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/items/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Item(null, "Watched", "D", "NEW", "a@example.com"))))
+                .andExpect(status().isCreated());
+
+        String body = "";
+        for (int i = 0; i < 50 && !body.contains("Watched"); i++) {
+            Thread.sleep(100); // delivered by the dispatcher thread
+            body = stream.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains("event:created"));
+        assertTrue(body.contains("Watched"));
+    }
+
+    @Test
+    void testStreamChanges_UnknownOffset() throws Exception {
+        // an offset the feed never handed out, e.g. from before a restart; expiry itself is covered by ItemChangeFeedTest
+        long unknown = itemChangeFeed.latestOffset() + 1000;
+        mockMvc.perform(get("/api/items/changes").header("Last-Event-ID", String.valueOf(unknown)))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void testValidateItems() throws Exception {
+        List<Item> items = List.of(new Item(null, "a", "a", "NEW", "a@example.com"),
+                new Item(null, "b", "b", "NEW", "not-an-email"));
+
+        mockMvc.perform(post("/api/items/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].index").value(1))
+                .andExpect(jsonPath("$[0].field").value("email"));
+        assertEquals(0, itemRepository.count()); // nothing saved
+    }
+
     @Test
     void testCreateItem_Valid() throws Exception {
         Item item = new Item(null, "a", "a", "a", "test@example.com");
@@ -76,6 +266,45 @@ class ItemControllerTest {
                 .andExpect(content().string("Invalid input"));
     }
 
+    @Test
+    void testCreateItemsBatch_Valid() throws Exception {
+        List<Item> items = List.of(
+                new Item(null, "a", "a", "NEW", "a@example.com"),
+                new Item(null, "b", "b", "NEW", "b@example.com"));
+
+        mockMvc.perform(post("/api/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].id", notNullValue()));
+
+        assertEquals(2, itemRepository.count());
+    }
+
+    @Test
+    void testCreateItemsBatch_InvalidEmail() throws Exception {
+        List<Item> items = List.of(
+                new Item(null, "a", "a", "NEW", "a@example.com"),
+                new Item(null, "b", "b", "NEW", "invalid-email"));
+
+        mockMvc.perform(post("/api/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Invalid input"));
+
+        assertEquals(0, itemRepository.count()); // nothing is saved when one item is invalid
+    }
+
+    @Test
+    void testCreateItemsBatch_Empty() throws Exception {
+        mockMvc.perform(post("/api/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetItemById_Found() throws Exception {
         Item saved = createItem("a", "a", "a", "test@example.com");
@@ -85,12 +314,106 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.name").value("a"));
     }
 
+    @Test
+    void testGetItemById_NotModified() throws Exception {
+        Item saved = createItem("a", "a", "a", "test@example.com");
+        MvcResult first = mockMvc.perform(get("/api/items/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+
+        mockMvc.perform(get("/api/items/" + saved.getId())
+                        .header("If-None-Match", first.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGetAllItems_NotModifiedUntilChanged() throws Exception {
+        createItem("Item1", "D", "NEW", "a@example.com");
+        String etag = mockMvc.perform(get("/api/items"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/items").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/items").param("fields", "id,name").header("If-None-Match", etag))
+                .andExpect(status().isOk()); // other representation, other tag
+
+        createItem("Item2", "D", "NEW", "b@example.com");
+        mockMvc.perform(get("/api/items").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    @Test
+    void testGetAllItems_ChangedAfterDelete() throws Exception {
+        Item first = createItem("Item1", "D", "NEW", "a@example.com");
+        createItem("Item2", "D", "NEW", "b@example.com");
+        createItem("Item3", "D", "NEW", "c@example.com");
+        String etag = mockMvc.perform(get("/api/items"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Last-Modified")) // max(lastModified) does not move on delete
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(delete("/api/items/" + first.getId())).andExpect(status().isNoContent()); // not the newest item
+        mockMvc.perform(get("/api/items").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    @Test
+    void testGetAllItems_ChangedAfterUpdateOfOlderItem() throws Exception {
+        Item first = createItem("Item1", "D", "NEW", "a@example.com");
+        createItem("Item2", "D", "NEW", "b@example.com");
+        String etag = mockMvc.perform(get("/api/items"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // same lastModified as before, e.g. two writes within one millisecond: only the version moves
+        itemRepository.updateStatusByIdIn(List.of(first.getId()), "DONE", first.getLastModified());
+        mockMvc.perform(get("/api/items").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("DONE"));
+    }
+
     @Test
     void testGetItemById_NotFound() throws Exception {
         mockMvc.perform(get("/api/items/999"))
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void testGetItemHistory() throws Exception {
+        String created = mockMvc.perform(post("/api/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Item(null, "a", "a", "NEW", "a@example.com"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long id = objectMapper.readValue(created, Item.class).getId();
+        mockMvc.perform(put("/api/items/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Item(null, "b", "b", "NEW", "b@example.com"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/items/" + id)).andExpect(status().isNoContent());
+        itemAuditLog.flush(); // written in the background otherwise
+
+        mockMvc.perform(get("/api/items/" + id + "/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].action").value("CREATED"))
+                .andExpect(jsonPath("$[0].name").value("a"))
+                .andExpect(jsonPath("$[1].action").value("UPDATED"))
+                .andExpect(jsonPath("$[1].name").value("b"))
+                .andExpect(jsonPath("$[2].action").value("DELETED"));
+    }
+
+    @Test
+    void testGetItemHistory_UnknownItem() throws Exception {
+        mockMvc.perform(get("/api/items/999999/history"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testUpdateItem_Valid() throws Exception {
         Item saved = createItem("a", "a", "a", "a@example.com");
@@ -104,6 +427,74 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.status").value("b"));
     }
 
+    @Test
+    void testUpdateItem_IfMatch() throws Exception {
+        Item saved = createItem("a", "a", "a", "a@example.com");
+        String etag = mockMvc.perform(get("/api/items/" + saved.getId()))
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        Item updated = new Item(null, "b", "b", "b", "b@example.com");
+
+        mockMvc.perform(put("/api/items/" + saved.getId())
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+
+        mockMvc.perform(put("/api/items/" + saved.getId()) // same (now stale) ETag again
+                        .header("If-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testUpdateItem_StaleVersionInBody() throws Exception {
+        Item saved = createItem("a", "a", "a", "a@example.com");
+        itemRepository.updateStatusByIdIn(List.of(saved.getId()), "PROCESSED", Instant.now()); // background write bumps the version
+
+        Item updated = new Item(null, "b", "b", "b", "b@example.com");
+        updated.setVersion(saved.getVersion());
+
+        mockMvc.perform(put("/api/items/" + saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updated)))
+                .andExpect(status().isConflict());
+        assertEquals("PROCESSED", itemRepository.findById(saved.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testPatchItem() throws Exception {
+        Item saved = createItem("a", "desc", "NEW", "a@example.com");
+
+        mockMvc.perform(patch("/api/items/" + saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"b\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("b"))
+                .andExpect(jsonPath("$.description").value("desc"))
+                .andExpect(jsonPath("$.email").value("a@example.com"));
+    }
+
+    @Test
+    void testPatchItem_InvalidEmail() throws Exception {
+        Item saved = createItem("a", "desc", "NEW", "a@example.com");
+
+        mockMvc.perform(patch("/api/items/" + saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"invalid-email\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testPatchItem_NotFound() throws Exception {
+        mockMvc.perform(patch("/api/items/999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"b\"}"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testUpdateItem_InvalidEmail() throws Exception {
         Item saved = createItem("a", "a", "a", "a@example.com");
@@ -156,4 +547,73 @@ class ItemControllerTest {
             assertEquals("PROCESSED", item.getStatus());
         }
     }
+
+    @Test
+    void testProcessingJob() throws Exception {
+        createItem("A", "Desc A", "NEW", "a@example.com");
+        createItem("B", "Desc B", "NEW", "b@example.com");
+
+        String body = mockMvc.perform(post("/api/items/process"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.total").value(2))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(body).get("jobId").asText();
+
+        String state = "RUNNING";
+        for (int i = 0; i < 50 && state.equals("RUNNING"); i++) { // poll like a client would
+            Thread.sleep(200);
+            String status = mockMvc.perform(get("/api/items/process/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            state = objectMapper.readTree(status).get("state").asText();
+        }
+        assertEquals("COMPLETED", state);
+
+        mockMvc.perform(get("/api/items/process/" + jobId))
+                .andExpect(jsonPath("$.processed").value(2))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.remaining").value(0))
+                .andExpect(jsonPath("$.resultsTruncated").value(false));
+
+        mockMvc.perform(get("/api/items/process/" + jobId + "/results").param("page", "0").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].status").value("PROCESSED"));
+    }
+
+    @Test
+    void testProcessingJob_ExecutorSaturated() throws Exception {
+        createItem("A", "Desc A", "NEW", "a@example.com");
+        int threads = itemJobExecutor.getMaxPoolSize();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) { // occupy every job thread
+            itemJobExecutor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        try {
+            started.await();
+            mockMvc.perform(post("/api/items/process"))
+                    .andExpect(status().isServiceUnavailable()); // rejected, not run on the request thread
+        } finally {
+            release.countDown();
+        }
+        assertEquals("NEW", itemRepository.findAll().get(0).getStatus());
+    }
+
+    @Test
+    void testProcessingJob_NotFound() throws Exception {
+        mockMvc.perform(get("/api/items/process/unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/items/process/unknown/results"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,148 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.PipelineProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.pipeline.ItemPipeline;
+import com.siemens.internship.pipeline.ItemProcessor;
+import com.siemens.internship.pipeline.ValidationProcessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemPipelineTest {
+
+    private static ItemProcessor stage(String name, UnaryOperator<Item> work) {
+        return new ItemProcessor() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Item process(Item item) {
+                return work.apply(item);
+            }
+        };
+    }
+
+    private static PipelineProperties properties(int concurrency, int queueCapacity) {
+        PipelineProperties properties = new PipelineProperties();
+        properties.getDefaults().setConcurrency(concurrency);
+        properties.getDefaults().setQueueCapacity(queueCapacity);
+        return properties;
+    }
+
+    private static ItemPipeline pipeline(List<ItemProcessor> stages, PipelineProperties properties) {
+        SimpleAsyncTaskExecutor workers = new SimpleAsyncTaskExecutor("pipeline-test-");
+        workers.setDaemon(true);
+        return new ItemPipeline(stages, properties, (processor, item) -> processor.process(item), workers, false,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testRunsStagesInOrder() throws Exception {
+        List<ItemProcessor> stages = List.of(
+                stage("first", item -> { item.setDescription("first"); return item; }),
+                stage("second", item -> { item.setDescription(item.getDescription() + ",second"); return item; }));
+
+        try (ItemPipeline pipeline = pipeline(stages, properties(2, 10))) {
+            Item result = pipeline.submit(new Item(1L, "a", null, "NEW", "a@example.com")).get(5, TimeUnit.SECONDS);
+
+            assertEquals("first,second", result.getDescription());
+            assertEquals(List.of(1L, 1L), pipeline.stats().stream().map(ItemPipeline.StageStats::completed).toList());
+        }
+    }
+
+    @Test
+    void testRunCountsOnlyItsOwnItems() throws Exception {
+        List<ItemProcessor> stages = List.of(new ValidationProcessor(), stage("after", item -> item));
+
+        try (ItemPipeline pipeline = pipeline(stages, properties(2, 10))) {
+            ItemPipeline.Run run = pipeline.newRun();
+            ItemPipeline.Run other = pipeline.newRun(); // a concurrent run sharing the pipeline
+            pipeline.submit(new Item(1L, "a", null, "NEW", "a@example.com"), run).get(5, TimeUnit.SECONDS);
+            pipeline.submit(new Item(2L, "b", null, "NEW", "b@example.com"), other).get(5, TimeUnit.SECONDS);
+            CompletableFuture<Item> invalid = pipeline.submit(new Item(3L, "c", null, "NEW", "not-an-email"), other);
+            assertThrows(ExecutionException.class, () -> invalid.get(5, TimeUnit.SECONDS));
+
+            assertEquals(List.of(1L, 1L), run.stats().stream().map(ItemPipeline.StageStats::completed).toList());
+            assertEquals(0, run.stats().get(0).failed());
+            assertEquals(1, other.stats().get(0).failed());
+            assertEquals(List.of(2L, 2L), pipeline.stats().stream().map(ItemPipeline.StageStats::completed).toList());
+        }
+    }
+
+    @Test
+    void testFailureSkipsLaterStages() {
+        List<ItemProcessor> stages = List.of(new ValidationProcessor(),
+                stage("after", item -> { throw new AssertionError("must not run"); }));
+
+        try (ItemPipeline pipeline = pipeline(stages, properties(1, 10))) {
+            CompletableFuture<Item> result = pipeline.submit(new Item(1L, "a", null, "NEW", "not-an-email"));
+
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+            assertEquals(1, pipeline.stats().get(0).failed());
+            assertEquals(0, pipeline.stats().get(1).completed());
+        }
+    }
+
+    @Test
+    void testFullQueueBlocksSubmitter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<ItemProcessor> stages = List.of(stage("slow", item -> {
+            try {
+                release.await();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            return item;
+        }));
+
+        try (ItemPipeline pipeline = pipeline(stages, properties(1, 1))) {
+            pipeline.submit(new Item(1L, "a", null, "NEW", null)); // taken by the only worker
+            Thread.sleep(100);
+            pipeline.submit(new Item(2L, "b", null, "NEW", null)); // fills the queue
+            CompletableFuture<Void> third = CompletableFuture.runAsync(() -> pipeline.submit(new Item(3L, "c", null, "NEW", null)));
+
+            Thread.sleep(200);
+            assertFalse(third.isDone()); // backpressure: no room in front of the slow stage
+
+            release.countDown();
+            third.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testCloseFailsQueuedItems() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        List<ItemProcessor> stages = List.of(stage("blocked", item -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await(); // only close() gets the worker out of here
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            return item;
+        }));
+
+        ItemPipeline pipeline = pipeline(stages, properties(1, 10));
+        pipeline.submit(new Item(1L, "a", null, "NEW", null));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Item> queued = pipeline.submit(new Item(2L, "b", null, "NEW", null));
+
+        pipeline.close();
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+}
@@ -1,17 +1,35 @@
 package com.siemens.internship;
 
+import com.siemens.internship.config.DbAccessLimiter;
+import com.siemens.internship.config.ExecutorConfig;
+import com.siemens.internship.config.ProcessingProperties;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemHistory;
+import com.siemens.internship.pipeline.ItemPipeline;
+import com.siemens.internship.repository.DeadLetterRepository;
 import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.DeadLetterService;
+import com.siemens.internship.service.ItemAuditLog;
+import com.siemens.internship.service.ItemCache;
+import com.siemens.internship.service.ItemClaimService;
+import com.siemens.internship.service.ItemProcessingMetrics;
+import com.siemens.internship.service.ItemSearchIndex;
 import com.siemens.internship.service.ItemService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -23,12 +41,55 @@ class ItemServiceTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    @Qualifier(ExecutorConfig.ITEM_PROCESSING_EXECUTOR)
+    private Executor executor;
+
+    @Autowired
+    private DbAccessLimiter dbAccessLimiter;
+
+    @Autowired
+    private ItemCache itemCache;
+
+    @Autowired
+    private ItemClaimService itemClaimService;
+
+    @Autowired
+    private DeadLetterService deadLetterService;
+
+    @Autowired
+    private DeadLetterRepository deadLetterRepository;
+
+    @Autowired
+    private ItemProcessingMetrics itemProcessingMetrics;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ItemPipeline itemPipeline;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ItemAuditLog itemAuditLog;
+
     private ItemService itemService;
 
     @BeforeEach
     void setup() {
         itemRepository.deleteAll();
-        itemService = new ItemService(itemRepository);
+        deadLetterRepository.deleteAll();
+        itemService = new ItemService(itemRepository, new ProcessingProperties(), executor, dbAccessLimiter, itemCache,
+                itemClaimService, deadLetterService, itemProcessingMetrics, itemPipeline,
+                itemSearchIndex, applicationEventPublisher);
     }
 
     private Item createTestItem(String name, String description, String status, String email) {
@@ -54,6 +115,48 @@ class ItemServiceTest {
         assertEquals("a@example.com", saved.getEmail());
     }
 
+    @Test
+    void testSaveAll() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) { // more than one JDBC batch and one id allocation block
+            items.add(new Item(null, "a" + i, "a", "NEW", "a@example.com"));
+        }
+
+        List<Item> saved = itemService.saveAll(items);
+        assertEquals(120, saved.size());
+        assertEquals(120, saved.stream().map(Item::getId).distinct().count());
+        assertEquals(120, itemRepository.count());
+    }
+
+    @Test
+    void testBulkStatusChangeIsOneAuditEntry() {
+        Item a = createTestItem("a", "a", "NEW", "a@example.com");
+        Item b = createTestItem("b", "b", "NEW", "b@example.com");
+        double queued = meterRegistry.get("item.audit.queued").gauge().value();
+
+        itemService.updateStatus(List.of(a.getId(), b.getId()), "DONE");
+
+        assertTrue(meterRegistry.get("item.audit.queued").gauge().value() <= queued + 1); // not one per id
+        itemAuditLog.flush();
+        for (Item item : List.of(a, b)) {
+            List<ItemHistory> history = itemAuditLog.findHistory(item.getId(), null, 10);
+            assertEquals(1, history.size()); // still one history row per item
+            assertEquals("DONE", history.get(0).getStatus());
+        }
+    }
+
+    @Test
+    void testWriteEventsWaitForCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.saveAll(List.of(new Item(null, "Rolled back", "a", "NEW", "a@example.com")));
+            status.setRollbackOnly();
+        });
+        assertTrue(itemSearchIndex.search("rolled", null, null, null, 10).isEmpty()); // never committed, never indexed
+
+        Item saved = itemService.saveAll(List.of(new Item(null, "Committed", "a", "NEW", "a@example.com"))).get(0);
+        assertEquals(List.of(saved.getId()), itemSearchIndex.search("committed", null, null, null, 10));
+    }
+
     @Test
     void testFindAll() {
         createTestItem("a", "a", "NEW", "a@example.com");
@@ -73,6 +176,22 @@ class ItemServiceTest {
         assertEquals("a@example.com", found.get().getEmail());
     }
 
+    @Test
+    void testFindByIdIsCachedAndInvalidatedByWrites() {
+        Item item = createTestItem("a", "a", "NEW", "a@example.com");
+        assertEquals("NEW", itemService.findById(item.getId()).orElseThrow().getStatus());
+
+        itemService.updateStatus(List.of(item.getId()), "PROCESSED"); // bulk write must drop the cached copy
+        assertEquals("PROCESSED", itemService.findById(item.getId()).orElseThrow().getStatus());
+
+        Item updated = new Item(null, "b", "b", "DONE", "b@example.com");
+        itemService.updateItem(item.getId(), updated);
+        assertEquals("b", itemService.findById(item.getId()).orElseThrow().getName());
+
+        itemService.deleteById(item.getId());
+        assertTrue(itemService.findById(item.getId()).isEmpty());
+    }
+
     @Test
     void testUpdateItem() {
         Item item = createTestItem("a", "a", "NEW", "a@example.com");
@@ -103,6 +222,35 @@ class ItemServiceTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    void testUpdateStatusByIds() {
+        Item a = createTestItem("a", "a", "NEW", "a@example.com");
+        Item b = createTestItem("b", "b", "NEW", "b@example.com");
+        Item c = createTestItem("c", "c", "NEW", "c@example.com");
+
+        int updated = itemService.updateStatus(List.of(a.getId(), c.getId()), "PROCESSED");
+
+        assertEquals(2, updated);
+        assertEquals("PROCESSED", itemRepository.findById(a.getId()).orElseThrow().getStatus());
+        assertEquals("NEW", itemRepository.findById(b.getId()).orElseThrow().getStatus());
+        assertEquals("PROCESSED", itemRepository.findById(c.getId()).orElseThrow().getStatus());
+        assertEquals(0, itemService.updateStatus(List.of(), "PROCESSED"));
+    }
+
+    @Test
+    void testUpdateStatusInRange() {
+        Item a = createTestItem("a", "a", "NEW", "a@example.com");
+        Item b = createTestItem("b", "b", "NEW", "b@example.com");
+        Item c = createTestItem("c", "c", "NEW", "c@example.com");
+
+        int updated = itemService.updateStatusInRange(a.getId(), b.getId(), "ARCHIVED");
+
+        assertEquals(2, updated);
+        assertEquals("ARCHIVED", itemRepository.findById(a.getId()).orElseThrow().getStatus());
+        assertEquals("ARCHIVED", itemRepository.findById(b.getId()).orElseThrow().getStatus());
+        assertEquals("NEW", itemRepository.findById(c.getId()).orElseThrow().getStatus());
+    }
+
     @Test
     void testDeleteById() {
         Item item = createTestItem("a", "a", "NEW", "a@example.com");
@@ -136,6 +284,7 @@ class ItemServiceTest {
         createTestItem("Item B", "Desc B", "NEW", "b@example.com");
         createTestItem("Item B", "Desc B", "NEW", "b@example.com");
         createTestItem("Item B", "Desc B", "NEW", "b@example.com");
+        double processedBefore = meterRegistry.counter("item.processing.processed").count();
         CompletableFuture<List<Item>> future = itemService.processItemsAsync();
 
         // wait for async processing to complete
@@ -143,11 +292,54 @@ class ItemServiceTest {
 
         assertNotNull(result);
         assertEquals(16, result.size());
+        assertEquals(16, meterRegistry.counter("item.processing.processed").count() - processedBefore);
 
         for (Item item : result) {
             assertEquals("PROCESSED", item.getStatus());
             Item dbItem = itemRepository.findById(item.getId()).orElseThrow();
             assertEquals("PROCESSED", dbItem.getStatus());
+            assertEquals(dbItem.getVersion(), item.getVersion()); // the copy returned matches the row after the update
         }
     }
+
+    @Test
+    void testProcessedItemCanBeUpdatedWithReturnedVersion() throws Exception {
+        createTestItem("Item A", "Desc A", "NEW", "a@example.com");
+
+        Item processed = itemService.processItemsAsync().get().get(0);
+        processed.setName("Renamed");
+
+        Item updated = itemService.updateItem(processed.getId(), processed, processed.getVersion()).orElseThrow();
+        assertEquals("Renamed", updated.getName());
+    }
+
+    @Test
+    void testProcessItemsAsyncSkipsProcessedItems() throws Exception {
+        createTestItem("a", "a", "NEW", "a@example.com");
+        createTestItem("b", "b", "PROCESSED", "b@example.com");
+
+        List<Item> result = itemService.processItemsAsync().get();
+
+        assertEquals(1, result.size()); // incremental rerun: only the item that was not processed yet
+        assertEquals("a", result.get(0).getName());
+        assertEquals(0, itemService.countUnprocessed());
+    }
+
+    @Test
+    void testDeadLetteredItemIsReprocessedAfterRelease() throws Exception {
+        Item item = createTestItem("a", "a", "NEW", "a@example.com");
+        itemClaimService.claim(ItemService.PROCESSED, 10); // a crashed run: item leased but never completed
+        deadLetterService.record(item.getId(), new IllegalStateException("db down"));
+
+        assertTrue(itemService.processItemsAsync().get().isEmpty()); // still leased, nothing to claim
+        assertEquals(1, deadLetterService.count());
+        assertTrue(deadLetterService.findPage(null, 10).get(0).getCause().contains("db down"));
+
+        assertEquals(1, deadLetterService.releaseForReprocessing());
+        List<Item> result = itemService.processItemsAsync().get();
+
+        assertEquals(1, result.size());
+        assertEquals(0, deadLetterService.count());
+        assertEquals("PROCESSED", itemRepository.findById(item.getId()).orElseThrow().getStatus());
+    }
 }
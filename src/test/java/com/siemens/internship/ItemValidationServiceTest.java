@@ -0,0 +1,67 @@
+package com.siemens.internship;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemValidationError;
+import com.siemens.internship.service.ItemValidationService;
+import com.siemens.internship.validation.EmailValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemValidationServiceTest {
+
+    private static final List<String> EMAILS = List.of(
+            "a@example.com", "first.last+tag@sub.example.org", "x_y-z!#$%&*=@host-1.co", "a@b.io",
+            "", "@example.com", "a@", "a@b", "a@b.c", "a@.com", "a@b.comma", "a@b.c0m", "a b@example.com",
+            "a@b@example.com", "a@exa mple.com", "ä@example.com", "a@exämple.com", "a@example.com\n", ".@...de",
+            "a@example..com", "a@-.de", "a@b.DE");
+
+    @Test
+    void testEmailValidatorMatchesRegex() {
+        Pattern regex = Pattern.compile(Item.EMAIL_REGEX);
+        for (String email : EMAILS) {
+            assertEquals(regex.matcher(email).matches(), EmailValidator.isValid(email), email);
+        }
+    }
+
+    @Test
+    void testBulkValidationMatchesBeanValidation() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) { // more than one slice
+            items.add(new Item(null, "Item" + i, "D", "NEW", EMAILS.get(i % EMAILS.size())));
+        }
+        items.set(10, null);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<ItemValidationError> errors = new ItemValidationService(executor).validate(items);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i) == null || !validator.validate(items.get(i)).isEmpty()) {
+                    expected.add(i);
+                }
+            }
+            assertEquals(expected, errors.stream().map(ItemValidationError::index).toList());
+            assertNull(errors.get(expected.indexOf(10)).field());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testValidList() {
+        List<Item> items = Arrays.asList(new Item(null, "a", "a", "NEW", "a@example.com"), new Item(null, "b", "b", "NEW", null));
+
+        assertTrue(new ItemValidationService(Runnable::run).isValid(items));
+    }
+}
@@ -0,0 +1,120 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.RateLimitProperties;
+import com.siemens.internship.service.AdaptiveConcurrencyLimiter;
+import com.siemens.internship.service.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "item.limits.endpoints.getItemsPage.rate=1",
+        "item.limits.endpoints.getItemsPage.burst=2",
+        "item.limits.trusted-proxies=10.0.0.1"
+})
+@AutoConfigureMockMvc
+class LoadSheddingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testTokenBucketRefills() {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(2, 2, now::get); // 2 per second, burst 2
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bucket.tryAcquire()); // empty, next token in 0.5s
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    void testConcurrencyLimitFollowsLatency() {
+        long target = TimeUnit.MILLISECONDS.toNanos(100);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 4, target, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire()); // at the limit: shed
+
+        limiter.release(target / 2, true); // fast, with the limit in use -> +1
+        assertEquals(3, limiter.getLimit());
+        limiter.release(target * 2, true); // slow -> halved
+        assertEquals(1, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testEndpointInheritsUnsetKeysFromDefaults() {
+        RateLimitProperties properties = new Binder(new MapConfigurationPropertySource(Map.of(
+                "item.limits.defaults.rate", "7",
+                "item.limits.defaults.target-latency", "2s",
+                "item.limits.endpoints.createItems.burst", "3")))
+                .bind("item.limits", RateLimitProperties.class).get();
+
+        RateLimitProperties.Limit limit = properties.forEndpoint("createItems");
+        assertEquals(7, limit.getRate()); // changed default, not the built-in 100
+        assertEquals(3, limit.getBurst()); // the endpoint's own key
+        assertEquals(Duration.ofSeconds(2), limit.getTargetLatency());
+        assertEquals(7, properties.forEndpoint("getItem").getRate()); // no entry at all
+    }
+
+    @Test
+    void testRateLimitedClientGets429() throws Exception {
+        double rateLimited = rateLimitedCount();
+        mockMvc.perform(get("/api/items/page").with(remoteAddr("10.0.0.1")).header("X-Client-Id", "noisy"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/items/page").with(remoteAddr("10.0.0.1")).header("X-Client-Id", "noisy"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/items/page").with(remoteAddr("10.0.0.1")).header("X-Client-Id", "noisy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+
+        mockMvc.perform(get("/api/items/page").with(remoteAddr("10.0.0.1")).header("X-Client-Id", "quiet"))
+                .andExpect(status().isOk()); // own bucket
+        assertEquals(rateLimited + 1, rateLimitedCount());
+    }
+
+    @Test
+    void testClientHeaderIgnoredFromUntrustedAddress() throws Exception {
+        mockMvc.perform(get("/api/items/page").with(remoteAddr("10.0.0.2")).header("X-Client-Id", "a"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/items/page").with(remoteAddr("10.0.0.2")).header("X-Client-Id", "b"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/items/page").with(remoteAddr("10.0.0.2")).header("X-Client-Id", "c"))
+                .andExpect(status().isTooManyRequests()); // same address, same bucket
+    }
+
+    private double rateLimitedCount() {
+        return meterRegistry.counter("item.limits.requests", "endpoint", "getItemsPage", "outcome", "rate_limited").count();
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
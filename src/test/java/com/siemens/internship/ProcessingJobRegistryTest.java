@@ -0,0 +1,126 @@
+package com.siemens.internship;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ProcessingJob;
+import com.siemens.internship.service.ProcessingJobRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessingJobRegistryTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void testFinishedJobExpiresAfterTtl() {
+        ProcessingJobRegistry registry = new ProcessingJobRegistry(10, Duration.ofMinutes(5), 100, clock);
+        ProcessingJob job = registry.create(3);
+        registry.finish(job, ProcessingJob.State.COMPLETED);
+
+        clock.advance(Duration.ofMinutes(4));
+        assertTrue(registry.find(job.getId()).isPresent());
+
+        clock.advance(Duration.ofMinutes(2));
+        assertTrue(registry.find(job.getId()).isEmpty());
+    }
+
+    @Test
+    void testRunningJobNeverExpires() {
+        ProcessingJobRegistry registry = new ProcessingJobRegistry(10, Duration.ofMinutes(5), 100, clock);
+        ProcessingJob job = registry.create(3);
+
+        clock.advance(Duration.ofHours(1));
+        assertTrue(registry.find(job.getId()).isPresent());
+    }
+
+    @Test
+    void testFullRegistryEvictsOldestFinishedJob() {
+        ProcessingJobRegistry registry = new ProcessingJobRegistry(2, Duration.ofHours(1), 100, clock);
+        ProcessingJob first = registry.create(1);
+        ProcessingJob second = registry.create(1);
+        registry.finish(first, ProcessingJob.State.COMPLETED);
+        clock.advance(Duration.ofSeconds(1));
+        registry.finish(second, ProcessingJob.State.COMPLETED);
+
+        ProcessingJob third = registry.create(1);
+
+        assertEquals(2, registry.size());
+        assertTrue(registry.find(first.getId()).isEmpty());
+        assertTrue(registry.find(second.getId()).isPresent());
+        assertTrue(registry.find(third.getId()).isPresent());
+    }
+
+    @Test
+    void testFullRegistryOfRunningJobsRejects() {
+        ProcessingJobRegistry registry = new ProcessingJobRegistry(1, Duration.ofHours(1), 100, clock);
+        registry.create(1);
+
+        assertThrows(IllegalStateException.class, () -> registry.create(1));
+    }
+
+    @Test
+    void testStatusCounters() {
+        ProcessingJobRegistry registry = new ProcessingJobRegistry(1, Duration.ofHours(1), 100, clock);
+        ProcessingJob job = registry.create(10);
+
+        ProcessingJob.Status status = job.toStatus();
+        assertEquals(ProcessingJob.State.RUNNING, status.state());
+        assertEquals(10, status.remaining());
+
+        registry.finish(job, ProcessingJob.State.COMPLETED);
+        assertEquals(0, job.toStatus().remaining());
+        assertNotNull(job.toStatus().finishedAt());
+    }
+
+    @Test
+    void testResultsAreBounded() {
+        ProcessingJobRegistry registry = new ProcessingJobRegistry(1, Duration.ofHours(1), 3, clock);
+        ProcessingJob job = registry.create(5);
+
+        job.onSuccess(items(1L, 2L));
+        assertFalse(job.toStatus().resultsTruncated());
+        job.onSuccess(items(3L, 4L, 5L));
+
+        assertEquals(5, job.toStatus().processed()); // the counters stay exact
+        assertTrue(job.toStatus().resultsTruncated());
+        assertEquals(List.of(1L, 2L, 3L), job.processedIds(0, 10));
+        assertEquals(List.of(3L), job.processedIds(1, 2));
+        assertEquals(List.of(), job.processedIds(2, 2));
+    }
+
+    private static List<Item> items(Long... ids) {
+        return Arrays.stream(ids).map(id -> new Item(id, "n", "d", "NEW", "a@example.com")).toList();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
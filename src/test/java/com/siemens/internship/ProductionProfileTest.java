@@ -0,0 +1,29 @@
+package com.siemens.internship;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ItemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the prod profile on its own database: Flyway applies the migrations and ddl-auto=validate fails
+ * the context if an entity no longer matches them.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prodprofile")
+@ActiveProfiles("prod")
+class ProductionProfileTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void testMigratedSchemaMatchesEntities() {
+        Item saved = itemService.save(new Item(null, "a", "d", "NEW", "a@example.com"));
+
+        assertEquals("a", itemService.findById(saved.getId()).orElseThrow().getName());
+    }
+}
@@ -0,0 +1,95 @@
+package com.siemens.internship;
+
+import com.siemens.internship.config.ProcessingProperties;
+import com.siemens.internship.service.CircuitBreaker;
+import com.siemens.internship.service.RetryPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    private static RetryPolicy retryPolicy(int maxAttempts) {
+        ProcessingProperties.Retry retry = new ProcessingProperties.Retry();
+        retry.setMaxAttempts(maxAttempts);
+        retry.setInitialBackoff(Duration.ofMillis(1));
+        retry.setMaxBackoff(Duration.ofMillis(5));
+        return new RetryPolicy(retry);
+    }
+
+    @Test
+    void testRetriesUntilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryPolicy(3).execute("test", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException("transient");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testRethrowsLastFailure() {
+        AtomicInteger calls = new AtomicInteger();
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> retryPolicy(2).execute("test", () -> {
+            throw new IllegalStateException("attempt " + calls.incrementAndGet());
+        }));
+
+        assertEquals("attempt 2", ex.getMessage());
+    }
+
+    @Test
+    void testPermanentFailureIsNotRetried() {
+        ProcessingProperties.Retry retry = new ProcessingProperties.Retry();
+        retry.setInitialBackoff(Duration.ofMillis(1));
+        AtomicInteger retries = new AtomicInteger();
+        RetryPolicy policy = new RetryPolicy(retry, retries::incrementAndGet, ex -> !(ex instanceof IllegalArgumentException));
+
+        assertThrows(IllegalArgumentException.class, () -> policy.execute("test", () -> {
+            throw new IllegalArgumentException("invalid item");
+        }));
+        assertEquals(0, retries.get());
+    }
+
+    @Test
+    void testOpenCircuitIsNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(CircuitBreaker.OpenException.class, () -> retryPolicy(5).execute("test", () -> {
+            calls.incrementAndGet();
+            throw new CircuitBreaker.OpenException("db");
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testCircuitOpensAndRecovers() {
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        CircuitBreaker breaker = new CircuitBreaker("db", 2, Duration.ofSeconds(30), Clock.fixed(start, ZoneOffset.UTC));
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> breaker.call(() -> {
+                throw new IllegalStateException("down");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitBreaker.OpenException.class, () -> breaker.call(() -> "never called"));
+
+        CircuitBreaker later = new CircuitBreaker("db", 1, Duration.ZERO, Clock.systemUTC());
+        assertThrows(IllegalStateException.class, () -> later.call(() -> {
+            throw new IllegalStateException("down");
+        }));
+        assertEquals("ok", later.call(() -> "ok")); // open duration elapsed: the trial call closes the circuit
+        assertEquals(CircuitBreaker.State.CLOSED, later.getState());
+    }
+}